@@ -0,0 +1,42 @@
+package com.seuprojeto.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache local (Caffeine) dos dados de referencia: hospitais e motoristas, por id e a lista
+ * completa. As entradas sao invalidadas pelas escritas dos services; o TTL so limita o tempo
+ * de vida caso o banco seja alterado por fora da aplicacao.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String HOSPITAL = "hospital";
+    public static final String HOSPITAIS = "hospitais";
+    public static final String MOTORISTA = "motorista";
+    public static final String MOTORISTAS = "motoristas";
+
+    // Chave unica das listas completas
+    public static final String TODOS = "'todos'";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.referencia.tamanho-maximo:1000}") long tamanhoMaximo,
+                                     @Value("${cache.referencia.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(HOSPITAL, HOSPITAIS, MOTORISTA, MOTORISTAS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
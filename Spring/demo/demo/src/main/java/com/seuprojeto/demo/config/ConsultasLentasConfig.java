@@ -0,0 +1,34 @@
+package com.seuprojeto.demo.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Log de consultas lentas no logger "sql.lento"; sql.lento.limiar=0 desliga
+@Configuration
+public class ConsultasLentasConfig {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.lento");
+
+    @Bean
+    public static BeanPostProcessor consultasLentas(@Value("${sql.lento.limiar:500ms}") Duration limiar) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (limiar.isZero() || !(bean instanceof DataSource dataSource) || bean instanceof ConsultasLentasDataSource) {
+                    return bean;
+                }
+                return new ConsultasLentasDataSource(dataSource, limiar, consulta -> log.warn(
+                        "Consulta lenta: {} ms, {} parametros, endpoint {}: {}",
+                        consulta.milissegundos(), consulta.parametros(), consulta.endpoint(), consulta.sql()));
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.seuprojeto.demo.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.slf4j.MDC;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Mede cada execucao de comando JDBC e repassa ao registro as que passam do limiar, com o SQL,
+ * quantos parametros foram ligados e o endpoint da requisicao (MDC "endpoint"). Abaixo do
+ * limiar o custo e so o System.nanoTime() em volta da execucao.
+ */
+public class ConsultasLentasDataSource extends DelegatingDataSource {
+
+    public static final String MDC_ENDPOINT = "endpoint";
+
+    public record ConsultaLenta(String sql, int parametros, long milissegundos, String endpoint) {}
+
+    private final long limiarNanos;
+    private final Consumer<ConsultaLenta> registro;
+
+    public ConsultasLentasDataSource(DataSource alvo, Duration limiar, Consumer<ConsultaLenta> registro) {
+        super(alvo);
+        this.limiarNanos = limiar.toNanos();
+        this.registro = registro;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(super.getConnection(username, password));
+    }
+
+    private Connection medir(Connection conexao) {
+        return proxy(Connection.class, (proxy, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof Statement comando) {
+                String sql = metodo.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<? extends Statement> tipo = metodo.getReturnType().asSubclass(Statement.class);
+                return proxy(tipo, new Comando(comando, sql));
+            }
+            return resultado;
+        });
+    }
+
+    private class Comando implements InvocationHandler {
+
+        private final Statement alvo;
+        private final String sqlPreparado;
+        private int parametros = 0;
+
+        Comando(Statement alvo, String sqlPreparado) {
+            this.alvo = alvo;
+            this.sqlPreparado = sqlPreparado;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (!nome.startsWith("execute")) {
+                if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parametros++;
+                } else if (nome.equals("clearParameters")) {
+                    parametros = 0;
+                }
+                return invocar(alvo, metodo, args);
+            }
+            long inicio = System.nanoTime();
+            try {
+                return invocar(alvo, metodo, args);
+            } finally {
+                long duracao = System.nanoTime() - inicio;
+                if (duracao >= limiarNanos) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+                    registro.accept(new ConsultaLenta(sql, parametros, duracao / 1_000_000, MDC.get(MDC_ENDPOINT)));
+                }
+                parametros = 0;
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, handler));
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.seuprojeto.demo.config;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual, entre iniciar() e
+ * encerrar(). Registrado em hibernate.session_factory.statement_inspector; fora de uma
+ * contagem ativa so devolve o SQL sem alteracao.
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<Map<String, Integer>> EXECUCOES = new ThreadLocal<>();
+
+    public record Resultado(int total, String selectMaisRepetido, int repeticoes) {
+
+        static final Resultado VAZIO = new Resultado(0, null, 0);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> execucoes = EXECUCOES.get();
+        if (execucoes != null) {
+            execucoes.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        EXECUCOES.set(new HashMap<>());
+    }
+
+    // Mesmo SELECT (com parametros ?) repetido muitas vezes numa requisicao e o sinal de N+1
+    public static Resultado encerrar() {
+        Map<String, Integer> execucoes = EXECUCOES.get();
+        EXECUCOES.remove();
+        if (execucoes == null) {
+            return Resultado.VAZIO;
+        }
+        int total = 0;
+        String maisRepetido = null;
+        int repeticoes = 0;
+        for (Map.Entry<String, Integer> execucao : execucoes.entrySet()) {
+            total += execucao.getValue();
+            if (execucao.getValue() > repeticoes && ehSelect(execucao.getKey())) {
+                maisRepetido = execucao.getKey();
+                repeticoes = execucao.getValue();
+            }
+        }
+        return new Resultado(total, maisRepetido, repeticoes);
+    }
+
+    private static boolean ehSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+}
@@ -0,0 +1,34 @@
+package com.seuprojeto.demo.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuracao do JWT. O segredo atual assina os tokens novos e e identificado pelo
+ * header "kid"; os segredos em chavesAnteriores continuam validando tokens ja emitidos
+ * durante a rotacao de chaves.
+ */
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    private String secret;
+    private String kid = "principal";
+    private Duration expiracao = Duration.ofHours(24);
+    private Map<String, String> chavesAnteriores = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public String getSecret() { return secret; }
+    public void setSecret(String secret) { this.secret = secret; }
+
+    public String getKid() { return kid; }
+    public void setKid(String kid) { this.kid = kid; }
+
+    public Duration getExpiracao() { return expiracao; }
+    public void setExpiracao(Duration expiracao) { this.expiracao = expiracao; }
+
+    public Map<String, String> getChavesAnteriores() { return chavesAnteriores; }
+    public void setChavesAnteriores(Map<String, String> chavesAnteriores) { this.chavesAnteriores = chavesAnteriores; }
+}
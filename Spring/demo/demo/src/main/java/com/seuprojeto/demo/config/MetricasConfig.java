@@ -0,0 +1,99 @@
+package com.seuprojeto.demo.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Metricas proprias, alem das que o Actuator ja registra (http.server.requests, hikaricp.*,
+ * cache.* do Caffeine, jvm.*). Tudo e lido de contadores ja mantidos em memoria; o formato
+ * Prometheus sai em /actuator/prometheus.
+ */
+@Configuration
+public class MetricasConfig {
+
+    // Acrescenta ao http.server.requests o metodo do controller que atendeu a requisicao
+    @Bean
+    public ServerRequestObservationConvention convencaoRequisicoes() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String nome = handler instanceof HandlerMethod metodo
+                        ? metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName()
+                        : "none";
+                return super.getLowCardinalityKeyValues(context).and("handler", nome);
+            }
+        };
+    }
+
+    // Requer hibernate.generate_statistics=true
+    @Bean
+    public MeterBinder metricasHibernate(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            FunctionCounter.builder("hibernate.statements.prepared", statistics, Statistics::getPrepareStatementCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.queries.executed", statistics, Statistics::getQueryExecutionCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.entities.loaded", statistics, Statistics::getEntityLoadCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.entities.fetched", statistics, Statistics::getEntityFetchCount)
+                    .description("Carregamentos tardios de entidades (lazy)")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.collections.fetched", statistics, Statistics::getCollectionFetchCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.optimistic.failures", statistics, Statistics::getOptimisticFailureCount)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.transactions", statistics, Statistics::getTransactionCount)
+                    .register(registry);
+            Gauge.builder("hibernate.query.max.time", statistics, Statistics::getQueryExecutionMaxTime)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasHashSenha(PasswordEncoderLimitado passwordEncoder) {
+        return registry -> {
+            Gauge.builder("senha.hash.ativas", passwordEncoder, PasswordEncoderLimitado::getAtivas).register(registry);
+            Gauge.builder("senha.hash.fila", passwordEncoder, PasswordEncoderLimitado::getNaFila).register(registry);
+        };
+    }
+
+    // So existe no perfil "virtual"; pode estar envolvido por outros wrappers (ex.: consultas lentas)
+    @Bean
+    public MeterBinder metricasLimiteConexoes(DataSource dataSource) {
+        return registry -> {
+            LimiteConexoesDataSource limite;
+            try {
+                if (!dataSource.isWrapperFor(LimiteConexoesDataSource.class)) {
+                    return;
+                }
+                limite = dataSource.unwrap(LimiteConexoesDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("banco.acesso.disponiveis", limite, LimiteConexoesDataSource::getDisponiveis)
+                    .register(registry);
+            Gauge.builder("banco.acesso.aguardando", limite, LimiteConexoesDataSource::getAguardando)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.seuprojeto.demo.config;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.seuprojeto.demo.util.LimiteExcedidoException;
+
+/**
+ * Executa o hash de senhas (BCrypt gasta CPU de proposito) num pool proprio com fila limitada,
+ * para que uma rajada de logins nao ocupe todos os nucleos. Com o pool e a fila cheios a
+ * chamada falha na hora com 429 em vez de esperar.
+ */
+public class PasswordEncoderLimitado implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder alvo;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordEncoderLimitado(PasswordEncoder alvo, int threads, int fila) {
+        this.alvo = alvo;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                Thread.ofPlatform().name("hash-senha-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> alvo.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> alvo.matches(rawPassword, encodedPassword));
+    }
+
+    // So le o prefixo/custo do hash; nao precisa do pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return alvo.upgradeEncoding(encodedPassword);
+    }
+
+    public int getNaFila() {
+        return executor.getQueue().size();
+    }
+
+    public int getAtivas() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new LimiteExcedidoException("Muitas autenticacoes em andamento; tente novamente", Duration.ofSeconds(1));
+        }
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException falha) {
+                throw falha;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
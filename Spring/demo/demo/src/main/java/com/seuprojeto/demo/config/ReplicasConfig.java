@@ -0,0 +1,125 @@
+package com.seuprojeto.demo.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Com banco.replicas.urls definido, o DataSource da aplicacao passa a ser um
+ * RoteamentoDataSource: um pool HikariCP para a primaria (spring.datasource.*) e um por
+ * replica, todos com as opcoes de spring.datasource.hikari.* e metricas hikaricp.* com a tag
+ * pool (primaria, replica-1, ...). Sem a propriedade vale o DataSource padrao do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.replicas.urls")
+public class ReplicasConfig {
+
+    @Bean
+    public DataSource dataSource(Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${banco.replicas.urls}") String[] urls,
+                                 @Value("${banco.replicas.atraso-maximo:5s}") Duration atrasoMaximo,
+                                 @Value("${banco.replicas.tempo-conexao:1s}") Duration tempoConexao,
+                                 @Value("${banco.replicas.sql-atraso:}") String sqlAtraso) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        HikariDataSource primaria = new HikariDataSource(
+                config(environment, RoteamentoDataSource.PRIMARIA, environment.getRequiredProperty("spring.datasource.url"), registry));
+        List<RoteamentoDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariConfig config = config(environment, "replica-" + (i + 1), urls[i].trim(), registry);
+            // A aplicacao sobe mesmo com a replica fora; ela entra no rodizio quando responder
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(tempoConexao.toMillis());
+            config.setReadOnly(true);
+            replicas.add(new RoteamentoDataSource.Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primaria, replicas, atrasoMaximo,
+                sqlAtraso.isBlank() ? RoteamentoDataSource.SQL_ATRASO_POSTGRES : sqlAtraso);
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    @Bean
+    public SchedulingConfigurer verificacaoReplicas(DataSource dataSource,
+                                                    @Value("${banco.replicas.verificacao:2s}") Duration intervalo) {
+        RoteamentoDataSource roteamento = roteamento(dataSource);
+        return tarefas -> tarefas.addFixedDelayTask(roteamento::verificarReplicas, intervalo);
+    }
+
+    @Bean
+    public MeterBinder metricasReplicas(DataSource dataSource) {
+        RoteamentoDataSource roteamento = roteamento(dataSource);
+        return registry -> {
+            List<String> destinos = new ArrayList<>(List.of(RoteamentoDataSource.PRIMARIA));
+            roteamento.getReplicas().forEach(replica -> destinos.add(replica.getNome()));
+            for (String destino : destinos) {
+                FunctionCounter.builder("banco.roteamento.conexoes", roteamento, r -> r.getConexoes(destino))
+                        .tag("destino", destino)
+                        .register(registry);
+            }
+            for (RoteamentoDataSource.Replica replica : roteamento.getReplicas()) {
+                Gauge.builder("banco.replica.disponivel", replica, r -> r.isDisponivel() ? 1 : 0)
+                        .tag("replica", replica.getNome())
+                        .register(registry);
+                Gauge.builder("banco.replica.atraso", replica, r -> r.getAtraso().toMillis() / 1000.0)
+                        .tag("replica", replica.getNome())
+                        .baseUnit("seconds")
+                        .register(registry);
+            }
+        };
+    }
+
+    // Os pools nao sao beans (seriam outros DataSources no contexto); fecham aqui
+    @Bean
+    public DisposableBean fecharPools(DataSource dataSource) {
+        return roteamento(dataSource)::close;
+    }
+
+    private static HikariConfig config(Environment environment, String nome, String url, MeterRegistry registry) {
+        HikariConfig config = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        config.setPoolName(nome);
+        config.setJdbcUrl(url);
+        config.setUsername(environment.getProperty("spring.datasource.username"));
+        config.setPassword(environment.getProperty("spring.datasource.password"));
+        String driver = environment.getProperty("spring.datasource.driver-class-name");
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return config;
+    }
+
+    // O DataSource pode estar envolvido por outros wrappers (consultas lentas, limite de conexoes)
+    private static RoteamentoDataSource roteamento(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(RoteamentoDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("DataSource sem roteamento de replicas", e);
+        }
+    }
+}
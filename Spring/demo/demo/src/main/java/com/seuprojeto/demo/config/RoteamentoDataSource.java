@@ -0,0 +1,182 @@
+package com.seuprojeto.demo.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia transacoes readOnly para uma replica de leitura e o resto para a primaria. So entram
+ * no rodizio replicas disponiveis cujo atraso medido (verificarReplicas) esta dentro de
+ * atrasoMaximo; sem nenhuma, ou se a conexao com a replica falhar, a leitura vai para a
+ * primaria. Precisa ficar atras de um LazyConnectionDataSourceProxy: o gerenciador de
+ * transacoes pede a conexao antes de marcar a transacao como readOnly. Leituras que nao podem
+ * perder o que ja foi confirmado na primaria (sincronizacao ?since= e as cargas dos indices em
+ * memoria na subida, que depois so recebem as escritas seguintes) nao usam readOnly.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIA = "primaria";
+
+    // Segundos de atraso na replica; 0 quando ja aplicou tudo o que recebeu ou nao e replica
+    public static final String SQL_ATRASO_POSTGRES = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private static final Logger log = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    public static class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel = true;
+        private volatile Duration atraso = Duration.ZERO;
+
+        public Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        public String getNome() { return nome; }
+        public boolean isDisponivel() { return disponivel; }
+        public Duration getAtraso() { return atraso; }
+    }
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final Duration atrasoMaximo;
+    private final String sqlAtraso;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Map<String, LongAdder> conexoes = new LinkedHashMap<>();
+
+    public RoteamentoDataSource(DataSource primaria, List<Replica> replicas, Duration atrasoMaximo, String sqlAtraso) {
+        this.primaria = primaria;
+        this.replicas = List.copyOf(replicas);
+        this.atrasoMaximo = atrasoMaximo;
+        this.sqlAtraso = sqlAtraso;
+        Map<Object, Object> alvos = new HashMap<>();
+        alvos.put(PRIMARIA, primaria);
+        conexoes.put(PRIMARIA, new LongAdder());
+        for (Replica replica : this.replicas) {
+            alvos.put(replica.nome, replica.dataSource);
+            conexoes.put(replica.nome, new LongAdder());
+        }
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // Conexoes entregues por destino (primaria ou nome da replica), para as metricas
+    public long getConexoes(String destino) {
+        LongAdder contador = conexoes.get(destino);
+        return contador != null ? contador.sum() : 0;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARIA;
+        }
+        Replica replica = escolherReplica();
+        return replica != null ? replica.nome : PRIMARIA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(username, password);
+    }
+
+    // Mede o atraso de cada replica; uma replica que falha sai do rodizio ate a proxima verificacao boa
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexao = replica.dataSource.getConnection();
+                 Statement comando = conexao.createStatement();
+                 ResultSet resultado = comando.executeQuery(sqlAtraso)) {
+                double segundos = resultado.next() ? resultado.getDouble(1) : 0;
+                replica.atraso = Duration.ofMillis(Math.round(segundos * 1000));
+                if (!replica.disponivel) {
+                    log.info("Replica {} disponivel novamente", replica.nome);
+                }
+                replica.disponivel = true;
+            } catch (SQLException e) {
+                marcarIndisponivel(replica, e);
+            }
+        }
+    }
+
+    // Fecha os pools da primaria e das replicas (os que forem AutoCloseable, como o HikariDataSource)
+    public void close() {
+        fechar(primaria);
+        replicas.forEach(replica -> fechar(replica.dataSource));
+    }
+
+    private static void fechar(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable fechavel) {
+            try {
+                fechavel.close();
+            } catch (Exception e) {
+                log.warn("Falha ao fechar pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Connection conectar(String username, String password) throws SQLException {
+        Object chave = determineCurrentLookupKey();
+        if (!PRIMARIA.equals(chave)) {
+            Replica replica = replicas.stream().filter(r -> r.nome.equals(chave)).findFirst().orElseThrow();
+            try {
+                Connection conexao = username != null
+                        ? replica.dataSource.getConnection(username, password)
+                        : replica.dataSource.getConnection();
+                conexoes.get(replica.nome).increment();
+                return conexao;
+            } catch (SQLException e) {
+                marcarIndisponivel(replica, e);
+            }
+        }
+        conexoes.get(PRIMARIA).increment();
+        return username != null ? primaria.getConnection(username, password) : primaria.getConnection();
+    }
+
+    private Replica escolherReplica() {
+        int total = replicas.size();
+        int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (replica.disponivel && replica.atraso.compareTo(atrasoMaximo) <= 0) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void marcarIndisponivel(Replica replica, SQLException e) {
+        if (replica.disponivel) {
+            log.warn("Replica {} indisponivel, leituras vao para a primaria: {}", replica.nome, e.getMessage());
+        }
+        replica.disponivel = false;
+    }
+}
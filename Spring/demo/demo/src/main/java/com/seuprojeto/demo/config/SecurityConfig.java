@@ -2,7 +2,9 @@
 package com.seuprojeto.demo.config;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +15,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -45,20 +49,46 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Novas senhas: {bcrypt} com o custo configurado. Senhas gravadas antes (BCrypt sem prefixo,
+    // como no data.sql, ou texto puro) continuam validas e sao regravadas no proximo login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+    public PasswordEncoderLimitado passwordEncoder(@Value("${seguranca.senha.custo-bcrypt:10}") int custo,
+                                                   @Value("${seguranca.senha.threads:0}") int threads,
+                                                   @Value("${seguranca.senha.fila:64}") int fila) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custo);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(senhasLegadas(bcrypt));
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PasswordEncoderLimitado(delegating, tamanhoPool, fila);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager() throws Exception {
-        return new ProviderManager(List.of(authenticationProvider()));
+    public AuthenticationManager authenticationManager(DaoAuthenticationProvider authenticationProvider) {
+        return new ProviderManager(List.of(authenticationProvider));
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider((UserDetailsService) userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
+
+    private static PasswordEncoder senhasLegadas(BCryptPasswordEncoder bcrypt) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new UnsupportedOperationException("Somente para conferir senhas antigas");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                if (encodedPassword.startsWith("$2")) {
+                    return bcrypt.matches(rawPassword, encodedPassword);
+                }
+                return NoOpPasswordEncoder.getInstance().matches(rawPassword, encodedPassword);
+            }
+        };
+    }
 }
@@ -0,0 +1,36 @@
+package com.seuprojeto.demo.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ativada pelo perfil "virtual" (spring.threads.virtual.enabled=true): o Spring Boot passa a
+ * atender o Tomcat, o agendador e as tarefas assincronas em threads virtuais, e aqui o
+ * DataSource e envolvido por um LimiteConexoesDataSource do tamanho do pool do HikariCP.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public static BeanPostProcessor limiteConexoes(
+            @Value("${banco.acesso.limite:${spring.datasource.hikari.maximum-pool-size:10}}") int limite,
+            @Value("${banco.acesso.espera:${spring.datasource.hikari.connection-timeout:30s}}") Duration espera) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LimiteConexoesDataSource)) {
+                    return new LimiteConexoesDataSource(dataSource, limite, espera);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,9 +1,12 @@
 package com.seuprojeto.demo.controller;
 
 import com.seuprojeto.demo.model.Usuario;
-import com.seuprojeto.demo.repository.UsuarioRepository;
+import com.seuprojeto.demo.model.UsuarioDTO;
+import com.seuprojeto.demo.service.UsuarioService;
+import com.seuprojeto.demo.util.Paginacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,52 +18,43 @@ import java.util.Optional;
 @RequestMapping("/usuarios")
 public class UsuarioController {
 
-    private final UsuarioRepository repository;
-    private final PasswordEncoder passwordEncoder;
+    private final UsuarioService service;
 
-    public UsuarioController(UsuarioRepository repository, PasswordEncoder passwordEncoder) {
-        this.repository = repository;
-        this.passwordEncoder = passwordEncoder;
+    public UsuarioController(UsuarioService service) {
+        this.service = service;
     }
 
     @GetMapping
-    public List<Usuario> listar() {
-        return repository.findAll();
+    public ResponseEntity<List<UsuarioDTO>> listar(@RequestParam(required = false) Long afterId,
+                                                   @PageableDefault(size = 100, sort = "id") Pageable pageable) {
+        if (afterId != null) {
+            return Paginacao.cursor(service.listarAposId(afterId, pageable.getPageSize()), pageable.getPageSize(), UsuarioDTO::getId);
+        }
+        return Paginacao.pagina(service.listar(pageable));
     }
 
     @PostMapping
     public ResponseEntity<?> salvar(@RequestBody Usuario usuario) {
-        if (repository.findByEmail(usuario.getEmail()).isPresent()) {
+        Optional<UsuarioDTO> saved = service.cadastrar(usuario);
+        if (saved.isEmpty()) {
             return ResponseEntity.badRequest().body("Email já cadastrado");
         }
-        usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
-        Usuario saved = repository.save(usuario);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(saved.get());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Usuario> buscarPorId(@PathVariable Long id) {
-        Optional<Usuario> usuario = repository.findById(id);
-        return usuario.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UsuarioDTO> buscarPorId(@PathVariable Long id) {
+        return service.buscar(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Usuario> atualizar(@PathVariable Long id, @RequestBody Usuario usuarioAtualizado) {
-        return repository.findById(id).map(usuario -> {
-            usuario.setNome(usuarioAtualizado.getNome());
-            usuario.setEmail(usuarioAtualizado.getEmail());
-            if (usuarioAtualizado.getSenha() != null && !usuarioAtualizado.getSenha().isEmpty()) {
-                usuario.setSenha(passwordEncoder.encode(usuarioAtualizado.getSenha()));
-            }
-            usuario.setRole(usuarioAtualizado.getRole());
-            return ResponseEntity.ok(repository.save(usuario));
-        }).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UsuarioDTO> atualizar(@PathVariable Long id, @RequestBody Usuario usuarioAtualizado) {
+        return service.atualizar(id, usuarioAtualizado).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> excluir(@PathVariable Long id) {
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
+        if (service.excluir(id)) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
@@ -68,16 +62,15 @@ public class UsuarioController {
 
     @GetMapping("/quantidade")
     public Map<String, Long> quantidadeUsuarios() {
-        long total = repository.count();
+        long total = service.contar();
         Map<String, Long> mapa = new HashMap<>();
         mapa.put("Total de Usuários", total);
         return mapa;
     }
 
     @GetMapping("/role/{role}")
-    public List<Usuario> listarPorRole(@PathVariable String role) {
-        return repository.findAll().stream()
-            .filter(u -> role.equals(u.getRole()))
-            .toList();
+    public ResponseEntity<List<UsuarioDTO>> listarPorRole(@PathVariable String role,
+                                                          @PageableDefault(size = 100, sort = "id") Pageable pageable) {
+        return Paginacao.pagina(service.listarPorRole(role, pageable));
     }
 }
@@ -0,0 +1,29 @@
+package com.seuprojeto.demo.controllers;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.seuprojeto.demo.model.PlanoDiarioDTO;
+import com.seuprojeto.demo.service.PlanejamentoService;
+
+@RestController
+@RequestMapping("/agenda")
+public class AgendaController {
+
+    private final PlanejamentoService planejamentoService;
+
+    public AgendaController(PlanejamentoService planejamentoService) {
+        this.planejamentoService = planejamentoService;
+    }
+
+    // Plano de viagens do dia (padrao: hoje) para os clientes ainda nao atendidos
+    @GetMapping("/plano")
+    public PlanoDiarioDTO plano(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return planejamentoService.planejar(data != null ? data : LocalDate.now());
+    }
+}
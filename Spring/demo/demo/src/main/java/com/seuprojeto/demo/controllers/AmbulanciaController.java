@@ -1,88 +1,145 @@
 package com.seuprojeto.demo.controllers;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.seuprojeto.demo.model.Ambulancia;
 import com.seuprojeto.demo.model.AmbulanciaMotoristaDTO;
+import com.seuprojeto.demo.model.AmbulanciaProximaDTO;
 import com.seuprojeto.demo.model.Motorista;
-import com.seuprojeto.demo.repository.AmbulanciaRepository;
-import com.seuprojeto.demo.repository.MotoristaRepository;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.model.TransicaoStatusDTO;
+import com.seuprojeto.demo.service.AmbulanciaService;
+import com.seuprojeto.demo.service.IndiceEspacialService;
+import com.seuprojeto.demo.service.MotoristaService;
+import com.seuprojeto.demo.util.AtualizacaoParcial;
+import com.seuprojeto.demo.util.Paginacao;
+import com.seuprojeto.demo.util.Sincronizacao;
 
 @RestController
 @RequestMapping("/ambulancias")
 public class AmbulanciaController {
 
-    private final AmbulanciaRepository ambulanciaRepository;
-    private final MotoristaRepository motoristaRepository;
+    private final AmbulanciaService ambulanciaService;
+    private final IndiceEspacialService indiceEspacialService;
+    private final MotoristaService motoristaService;
 
-    public AmbulanciaController(AmbulanciaRepository ambulanciaRepository, MotoristaRepository motoristaRepository) {
-        this.ambulanciaRepository = ambulanciaRepository;
-        this.motoristaRepository = motoristaRepository;
+    public AmbulanciaController(AmbulanciaService ambulanciaService, IndiceEspacialService indiceEspacialService,
+                                MotoristaService motoristaService) {
+        this.ambulanciaService = ambulanciaService;
+        this.indiceEspacialService = indiceEspacialService;
+        this.motoristaService = motoristaService;
     }
 
     @GetMapping
-    public List<Ambulancia> listar() {
-        return ambulanciaRepository.findAll();
+    public ResponseEntity<List<Ambulancia>> listar(@RequestParam(required = false) Long afterId,
+                                                   @PageableDefault(size = 100, sort = "id") Pageable pageable,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = Sincronizacao.etag(ambulanciaService.estado(), afterId, pageable.toString());
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> {
+            if (afterId != null) {
+                return Paginacao.cursor(ambulanciaService.listarAposId(afterId, pageable.getPageSize()), pageable.getPageSize(), Ambulancia::getId);
+            }
+            return Paginacao.pagina(ambulanciaService.listar(pageable));
+        });
+    }
+
+    @GetMapping(params = "since")
+    public SincronizacaoDTO<Ambulancia> listarAlteradasDesde(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        return ambulanciaService.alteradasDesde(since);
     }
 
     @PostMapping
     public Ambulancia salvar(@RequestBody Ambulancia ambulancia) {
-        return ambulanciaRepository.save(ambulancia);
+        return ambulanciaService.salvar(ambulancia);
     }
 
     @GetMapping("/{id}")
     public Ambulancia buscarPorId(@PathVariable Long id) {
-        return ambulanciaRepository.findById(id).orElseThrow(() -> new RuntimeException("Ambulância não encontrada"));
+        return ambulanciaService.buscar(id).orElseThrow(() -> new RuntimeException("Ambulância não encontrada"));
     }
 
     @PutMapping("/{id}")
-    public Ambulancia atualizar(@PathVariable Long id, @RequestBody Ambulancia ambulanciaAtualizada) {
-        return ambulanciaRepository.findById(id).map(ambulancia -> {
-            ambulancia.setPlaca(ambulanciaAtualizada.getPlaca());
-            ambulancia.setModelo(ambulanciaAtualizada.getModelo());
-            ambulancia.setCapacidade(ambulanciaAtualizada.getCapacidade());
-            ambulancia.setStatus(ambulanciaAtualizada.getStatus());
-            ambulancia.setMotoristaId(ambulanciaAtualizada.getMotoristaId());
-            ambulancia.setLatitude(ambulanciaAtualizada.getLatitude());
-            ambulancia.setLongitude(ambulanciaAtualizada.getLongitude());
-            return ambulanciaRepository.save(ambulancia);
-        }).orElseThrow(() -> new RuntimeException("Ambulância não encontrada"));
+    public Ambulancia atualizar(@PathVariable Long id, @RequestBody Ambulancia ambulanciaAtualizada,
+                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versaoEsperada = ifMatch != null ? AtualizacaoParcial.versaoEsperada(ifMatch, null) : ambulanciaAtualizada.getVersao();
+        return ambulanciaService.atualizar(id, ambulanciaAtualizada, versaoEsperada).orElseThrow(() -> new RuntimeException("Ambulância não encontrada"));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Ambulancia> atualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> campos,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Ambulancia salva = ambulanciaService.atualizarParcial(id, campos, AtualizacaoParcial.versaoEsperada(ifMatch, campos))
+                .orElseThrow(() -> new RuntimeException("Ambulância não encontrada"));
+        return ResponseEntity.ok().eTag(String.valueOf(salva.getVersao())).body(salva);
+    }
+
+    // 400 para transicao nao permitida, 409 se outro despachante mudou o status antes
+    @PutMapping("/{id}/status")
+    public Ambulancia transicionar(@PathVariable Long id, @RequestBody TransicaoStatusDTO transicao) {
+        return ambulanciaService.transicionar(id, transicao.getDe(), transicao.getPara())
+                .orElseThrow(() -> new RuntimeException("Ambulância não encontrada"));
+    }
+
+    // Reserva a ambulancia disponivel ha mais tempo e a coloca em uso
+    @PostMapping("/despacho")
+    public Ambulancia despachar() {
+        return ambulanciaService.despacharProxima()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Nenhuma ambulância disponível"));
     }
 
     @DeleteMapping("/{id}")
     public void excluir(@PathVariable Long id) {
-        ambulanciaRepository.deleteById(id);
+        ambulanciaService.excluir(id);
     }
 
+    // Ambulancias disponiveis mais proximas de um ponto; fonte=banco usa a consulta por bounding box
+    @GetMapping("/proximas")
+    public List<AmbulanciaProximaDTO> listarProximas(@RequestParam double latitude,
+                                                     @RequestParam double longitude,
+                                                     @RequestParam(defaultValue = "5") int k,
+                                                     @RequestParam(required = false) Double raioKm,
+                                                     @RequestParam(defaultValue = "memoria") String fonte) {
+        if (k < 1 || k > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k deve estar entre 1 e 100");
+        }
+        // O mesmo raio nas duas fontes: a busca no banco nao tem versao sem limite
+        double raio = raioKm != null ? raioKm : IndiceEspacialService.RAIO_PADRAO_KM;
+        if (raio <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "raioKm deve ser maior que zero");
+        }
+        if ("banco".equals(fonte) || !indiceEspacialService.isCarregado()) {
+            return indiceEspacialService.maisProximasNoBanco(latitude, longitude, k, raio);
+        }
+        return indiceEspacialService.maisProximas(latitude, longitude, k, raio);
+    }
+
+    // O ETag combina o estado das ambulancias com o da lista de motoristas (em cache)
     @GetMapping("/combined")
-    public List<AmbulanciaMotoristaDTO> listarCombined() {
-        return ambulanciaRepository.findAll().stream().map(ambulancia -> {
-            Motorista motorista = null;
-            if (ambulancia.getMotoristaId() != null) {
-                motorista = motoristaRepository.findById(ambulancia.getMotoristaId()).orElse(null);
-            }
-            return new AmbulanciaMotoristaDTO(
-                ambulancia.getId(),
-                ambulancia.getPlaca(),
-                ambulancia.getModelo(),
-                ambulancia.getCapacidade(),
-                ambulancia.getStatus(),
-                ambulancia.getLatitude(),
-                ambulancia.getLongitude(),
-                motorista != null ? motorista.getId() : null,
-                motorista != null ? motorista.getNome() : null,
-                motorista != null ? motorista.getTelefone() : null
-            );
-        }).collect(Collectors.toList());
+    public ResponseEntity<List<AmbulanciaMotoristaDTO>> listarCombined(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etagMotoristas = Sincronizacao.etag(motoristaService.listarTodos(), Motorista::getAtualizadoEm);
+        String etag = Sincronizacao.etag(ambulanciaService.estado(), "combined", etagMotoristas);
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> ResponseEntity.ok(ambulanciaService.listarComMotorista()));
     }
 }
@@ -1,72 +1,82 @@
 package com.seuprojeto.demo.controllers;
 
 import java.util.Map;
+import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.seuprojeto.demo.model.Usuario;
-import com.seuprojeto.demo.repository.UsuarioRepository;
+import com.seuprojeto.demo.model.UsuarioDTO;
+import com.seuprojeto.demo.service.LimiteLoginService;
+import com.seuprojeto.demo.service.UsuarioService;
 import com.seuprojeto.demo.util.JwtUtil;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final AuthenticationManager authenticationManager;
-    private final UsuarioRepository usuarioRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UsuarioService usuarioService;
     private final JwtUtil jwtUtil;
+    private final LimiteLoginService limiteLoginService;
 
     public AuthController(AuthenticationManager authenticationManager,
-                         UsuarioRepository usuarioRepository,
-                         PasswordEncoder passwordEncoder,
-                         JwtUtil jwtUtil) {
+                         UsuarioService usuarioService,
+                         JwtUtil jwtUtil,
+                         LimiteLoginService limiteLoginService) {
         this.authenticationManager = authenticationManager;
-        this.usuarioRepository = usuarioRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.usuarioService = usuarioService;
         this.jwtUtil = jwtUtil;
+        this.limiteLoginService = limiteLoginService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
+    public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
         String email = loginRequest.get("email");
         String senha = loginRequest.get("senha");
+        // Excesso de tentativas e hash sobrecarregado saem como 429 (LimiteExcedidoException)
+        limiteLoginService.verificarLogin(request.getRemoteAddr(), email);
 
         try {
-            System.out.println("Tentando autenticar usuário: " + email);
+            log.debug("Tentando autenticar usuário: {}", email);
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, senha)
             );
-            System.out.println("Autenticação bem-sucedida para: " + email);
+            log.info("Autenticação bem-sucedida para: {}", email);
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             String token = jwtUtil.generateToken(userDetails);
 
             return ResponseEntity.ok(Map.of("token", token, "role", userDetails.getAuthorities().toString()));
-        } catch (Exception e) {
-            System.err.println("Falha na autenticação para: " + email + " - " + e.getMessage());
+        } catch (AuthenticationException e) {
+            log.warn("Falha na autenticação para: {} - {}", email, e.getMessage());
             return ResponseEntity.status(401).body("Credenciais inválidas");
         }
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody Usuario usuario) {
-        if (usuarioRepository.findByEmail(usuario.getEmail()).isPresent()) {
+    public ResponseEntity<?> register(@RequestBody Usuario usuario, HttpServletRequest request) {
+        limiteLoginService.verificarIp(request.getRemoteAddr());
+        Optional<UsuarioDTO> savedUser = usuarioService.cadastrar(usuario);
+        if (savedUser.isEmpty()) {
             return ResponseEntity.badRequest().body("Email já cadastrado");
         }
 
-        usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
-        Usuario savedUser = usuarioRepository.save(usuario);
-
-        return ResponseEntity.ok(savedUser);
+        return ResponseEntity.ok(savedUser.get());
     }
 }
@@ -0,0 +1,43 @@
+package com.seuprojeto.demo.controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Acertos, faltas e remocoes de cada cache desde a subida da aplicacao
+    @GetMapping("/estatisticas")
+    public Map<String, Map<String, Object>> estatisticas() {
+        Map<String, Map<String, Object>> resultado = new LinkedHashMap<>();
+        for (String nome : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats stats = caffeine.stats();
+                Map<String, Object> dados = new LinkedHashMap<>();
+                dados.put("tamanho", caffeine.estimatedSize());
+                dados.put("acertos", stats.hitCount());
+                dados.put("faltas", stats.missCount());
+                dados.put("taxaAcerto", stats.hitRate());
+                dados.put("remocoes", stats.evictionCount());
+                resultado.put(nome, dados);
+            }
+        }
+        return resultado;
+    }
+}
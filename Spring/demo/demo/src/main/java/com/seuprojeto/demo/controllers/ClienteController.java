@@ -1,87 +1,215 @@
 package com.seuprojeto.demo.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.seuprojeto.demo.model.Cliente;
-import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.model.ClienteAgenda;
+import com.seuprojeto.demo.model.ClienteResumo;
+import com.seuprojeto.demo.model.ResultadoImportacao;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.service.AtendimentoService;
+import com.seuprojeto.demo.service.BuscaClienteService;
+import com.seuprojeto.demo.service.ClienteCsvService;
+import com.seuprojeto.demo.service.ClienteService;
+import com.seuprojeto.demo.service.EstatisticaService;
+import com.seuprojeto.demo.util.AtualizacaoParcial;
+import com.seuprojeto.demo.util.Paginacao;
+import com.seuprojeto.demo.util.Sincronizacao;
 
 @RestController
 @RequestMapping("/clientes")
 public class ClienteController {
 
-    private final ClienteRepository clienteRepository;
+    private final ClienteService clienteService;
+    private final EstatisticaService estatisticaService;
+    private final ClienteCsvService clienteCsvService;
+    private final AtendimentoService atendimentoService;
+    private final BuscaClienteService buscaClienteService;
 
-    public ClienteController(ClienteRepository clienteRepository) {
-        this.clienteRepository = clienteRepository;
+    public ClienteController(ClienteService clienteService, EstatisticaService estatisticaService,
+                             ClienteCsvService clienteCsvService, AtendimentoService atendimentoService,
+                             BuscaClienteService buscaClienteService) {
+        this.clienteService = clienteService;
+        this.estatisticaService = estatisticaService;
+        this.clienteCsvService = clienteCsvService;
+        this.atendimentoService = atendimentoService;
+        this.buscaClienteService = buscaClienteService;
     }
 
     @GetMapping
-    public List<Cliente> getAllClientes() {
-        return clienteRepository.findAll();
+    public ResponseEntity<List<Cliente>> getAllClientes(@RequestParam(required = false) Long afterId,
+                                                        @PageableDefault(size = 100, sort = "id") Pageable pageable,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = Sincronizacao.etag(clienteService.estado(), afterId, pageable.toString());
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> {
+            if (afterId != null) {
+                return Paginacao.cursor(clienteService.listarAposId(afterId, pageable.getPageSize()), pageable.getPageSize(), Cliente::getId);
+            }
+            return Paginacao.pagina(clienteService.listar(pageable));
+        });
+    }
+
+    // Visoes nomeadas: schedule (agenda), summary (listagens) e full (entidade inteira, o padrao)
+    @GetMapping(params = { "view", "!fields", "!since" })
+    public ResponseEntity<?> getClientesPorVisao(@RequestParam String view,
+                                                 @RequestParam(required = false) Long afterId,
+                                                 @PageableDefault(size = 100, sort = "id") Pageable pageable,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return switch (view) {
+            case "schedule" -> listarProjecao(ClienteAgenda.class, ClienteAgenda::getId, afterId, pageable, ifNoneMatch);
+            case "summary" -> listarProjecao(ClienteResumo.class, ClienteResumo::getId, afterId, pageable, ifNoneMatch);
+            case "full" -> getAllClientes(afterId, pageable, ifNoneMatch);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "view deve ser schedule, summary ou full");
+        };
+    }
+
+    // Campos avulsos, ex.: ?fields=nome,bairro,atendido (o id sempre vem)
+    @GetMapping(params = { "fields", "!since" })
+    public ResponseEntity<List<Map<String, Object>>> getClientesCampos(@RequestParam List<String> fields,
+                                                                       @RequestParam(required = false) Long afterId,
+                                                                       @PageableDefault(size = 100, sort = "id") Pageable pageable,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = Sincronizacao.etag(clienteService.estado(), afterId, pageable.toString(), fields);
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> {
+            if (afterId != null) {
+                List<Map<String, Object>> itens = clienteService.listarCamposAposId(fields, afterId, pageable.getPageSize());
+                return Paginacao.cursor(itens, pageable.getPageSize(), linha -> (Long) linha.get("id"));
+            }
+            return Paginacao.pagina(clienteService.listarCampos(fields, pageable));
+        });
+    }
+
+    private <T> ResponseEntity<List<T>> listarProjecao(Class<T> tipo, Function<T, Long> id, Long afterId, Pageable pageable,
+                                                       String ifNoneMatch) {
+        String etag = Sincronizacao.etag(clienteService.estado(), afterId, pageable.toString(), tipo.getSimpleName());
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> {
+            if (afterId != null) {
+                return Paginacao.cursor(clienteService.listarAposId(afterId, pageable.getPageSize(), tipo), pageable.getPageSize(), id);
+            }
+            return Paginacao.pagina(clienteService.listar(pageable, tipo));
+        });
+    }
+
+    // Alterados e excluidos desde o instante informado (ISO-8601); use sincronizadoEm na proxima chamada
+    @GetMapping(params = "since")
+    public SincronizacaoDTO<Cliente> getClientesAlteradosDesde(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        return clienteService.alteradosDesde(since);
+    }
+
+    // Busca tolerante a erros de digitacao em nome, cartao, telefone e bairro; mais parecidos primeiro
+    @GetMapping("/busca")
+    public ResponseEntity<List<Cliente>> buscarClientes(@RequestParam String q, @PageableDefault(size = 20) Pageable pageable) {
+        return Paginacao.pagina(buscaClienteService.buscar(q, pageable));
+    }
+
+    @GetMapping("/estatisticas")
+    public Map<String, Long> getEstatisticas() {
+        return estatisticaService.atendimentosClientes();
+    }
+
+    // Corpo CSV com cabecalho (nomes dos campos de Cliente); lido em fluxo, sem buffer do arquivo
+    @PostMapping(value = "/importar", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<ResultadoImportacao> importar(InputStream corpo) throws IOException {
+        try {
+            return ResponseEntity.ok(clienteCsvService.importar(corpo));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/exportar", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = clienteCsvService::exportar;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Cliente> getClienteById(@PathVariable Long id) {
-        Optional<Cliente> cliente = clienteRepository.findById(id);
-        return cliente.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return clienteService.buscar(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
     public ResponseEntity<Cliente> createCliente(@RequestBody Cliente cliente) {
-        Cliente savedCliente = clienteRepository.save(cliente);
+        Cliente savedCliente = clienteService.salvar(cliente);
         return ResponseEntity.ok(savedCliente);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Cliente> updateCliente(@PathVariable Long id, @RequestBody Cliente clienteDetails) {
-        Optional<Cliente> optionalCliente = clienteRepository.findById(id);
-        if (!optionalCliente.isPresent()) {
+    public ResponseEntity<Cliente> updateCliente(@PathVariable Long id, @RequestBody Cliente clienteDetails,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versaoEsperada = ifMatch != null ? AtualizacaoParcial.versaoEsperada(ifMatch, null) : clienteDetails.getVersao();
+        return clienteService.atualizar(id, clienteDetails, versaoEsperada)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Altera somente os campos enviados; 409 se a versao (If-Match ou campo versao) estiver desatualizada
+    @PatchMapping("/{id}")
+    public ResponseEntity<Cliente> patchCliente(@PathVariable Long id, @RequestBody Map<String, Object> campos,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return clienteService.atualizarParcial(id, campos, AtualizacaoParcial.versaoEsperada(ifMatch, campos))
+                .map(updatedCliente -> ResponseEntity.ok().eTag(String.valueOf(updatedCliente.getVersao())).body(updatedCliente))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Marca como atendido com um UPDATE direto, sem carregar o cliente
+    @PutMapping("/{id}/atender")
+    public ResponseEntity<Map<String, Integer>> atenderCliente(@PathVariable Long id) {
+        int atualizados = atendimentoService.atender(List.of(id));
+        if (atualizados == 0 && !clienteService.existe(id)) {
             return ResponseEntity.notFound().build();
         }
-        Cliente cliente = optionalCliente.get();
-        cliente.setNome(clienteDetails.getNome());
-        cliente.setTelefone(clienteDetails.getTelefone());
-        cliente.setEndereco(clienteDetails.getEndereco());
-        cliente.setDataNascimento(clienteDetails.getDataNascimento());
-        cliente.setCartao(clienteDetails.getCartao());
-        cliente.setTipo(clienteDetails.getTipo());
-        cliente.setHorarioVan(clienteDetails.getHorarioVan());
-        cliente.setDataAtendimento(clienteDetails.getDataAtendimento());
-        cliente.setBairro(clienteDetails.getBairro());
-        cliente.setDestino(clienteDetails.getDestino());
-        cliente.setHorarioAtendimento(clienteDetails.getHorarioAtendimento());
-        cliente.setVagas(clienteDetails.getVagas());
-        cliente.setTratamento(clienteDetails.getTratamento());
-        cliente.setCartaoAcompanhante(clienteDetails.getCartaoAcompanhante());
-        cliente.setNomeAcompanhante(clienteDetails.getNomeAcompanhante());
-        cliente.setDataNascimentoAcompanhante(clienteDetails.getDataNascimentoAcompanhante());
-        cliente.setAtendido(clienteDetails.isAtendido());
-        cliente.setPrioridadeSaude(clienteDetails.getPrioridadeSaude());
-        cliente.setInovacao(clienteDetails.getInovacao());
-        cliente.setGrupoVulneravel(clienteDetails.getGrupoVulneravel());
-        cliente.setTransporteSustentavel(clienteDetails.getTransporteSustentavel());
-
-        Cliente updatedCliente = clienteRepository.save(cliente);
-        return ResponseEntity.ok(updatedCliente);
+        return ResponseEntity.ok(Map.of("atualizados", atualizados));
+    }
+
+    // Corpo: array JSON de ids
+    @PutMapping("/atender")
+    public Map<String, Integer> atenderClientes(@RequestBody List<Long> ids) {
+        return Map.of("atualizados", atendimentoService.atender(ids));
+    }
+
+    // Todos os pendentes de uma data (opcionalmente so de um bairro)
+    @PutMapping(value = "/atender", params = "data")
+    public Map<String, Integer> atenderClientesDoDia(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+                                                     @RequestParam(required = false) String bairro) {
+        return Map.of("atualizados", atendimentoService.atenderDoDia(data, bairro));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCliente(@PathVariable Long id) {
-        if (!clienteRepository.existsById(id)) {
+        if (!clienteService.excluir(id)) {
             return ResponseEntity.notFound().build();
         }
-        clienteRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 }
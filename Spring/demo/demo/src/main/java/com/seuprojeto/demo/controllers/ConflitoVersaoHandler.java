@@ -0,0 +1,27 @@
+package com.seuprojeto.demo.controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Edicao concorrente (versao diferente da esperada ou gravada por outro usuario no meio tempo)
+@RestControllerAdvice
+public class ConflitoVersaoHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> conflito(OptimisticLockingFailureException e) {
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("erro", "Registro alterado por outro usuario; recarregue e tente novamente");
+        if (e instanceof ObjectOptimisticLockingFailureException falha) {
+            corpo.put("entidade", falha.getPersistentClassName());
+            corpo.put("id", falha.getIdentifier());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(corpo);
+    }
+}
@@ -0,0 +1,24 @@
+package com.seuprojeto.demo.controllers;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.seuprojeto.demo.model.EstatisticasDTO;
+import com.seuprojeto.demo.service.EstatisticaService;
+
+@RestController
+@RequestMapping("/estatisticas")
+public class EstatisticaController {
+
+    private final EstatisticaService estatisticaService;
+
+    public EstatisticaController(EstatisticaService estatisticaService) {
+        this.estatisticaService = estatisticaService;
+    }
+
+    @GetMapping
+    public EstatisticasDTO gerar() {
+        return estatisticaService.gerar();
+    }
+}
@@ -1,56 +1,117 @@
 package com.seuprojeto.demo.controllers;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.seuprojeto.demo.model.Hospital;
-import com.seuprojeto.demo.repository.HospitalRepository;
+import com.seuprojeto.demo.model.HospitalSugeridoDTO;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.model.SugestaoHospitalDTO;
+import com.seuprojeto.demo.service.HospitalService;
+import com.seuprojeto.demo.service.IndiceEspecialidadesService;
+import com.seuprojeto.demo.util.Paginacao;
+import com.seuprojeto.demo.util.Sincronizacao;
 
 @RestController
 @RequestMapping("/hospitais")
 public class HospitalController {
 
-    private final HospitalRepository repository;
+    private final HospitalService service;
+    private final IndiceEspecialidadesService indiceEspecialidades;
 
-    public HospitalController(HospitalRepository repository) {
-        this.repository = repository;
+    public HospitalController(HospitalService service, IndiceEspecialidadesService indiceEspecialidades) {
+        this.service = service;
+        this.indiceEspecialidades = indiceEspecialidades;
     }
 
+    // Paginas por id (padrao) e cursor afterId saem da lista em cache
     @GetMapping
-    public List<Hospital> listar() {
-        return repository.findAll();
+    public ResponseEntity<List<Hospital>> listar(@RequestParam(required = false) Long afterId,
+                                                 @PageableDefault(size = 100, sort = "id") Pageable pageable,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        List<Hospital> todos = service.listarTodos();
+        String etag = Sincronizacao.etag(todos, Hospital::getAtualizadoEm, afterId, pageable.toString());
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> {
+            if (afterId != null) {
+                List<Hospital> itens = Paginacao.aposId(todos, afterId, pageable.getPageSize(), Hospital::getId);
+                return Paginacao.cursor(itens, pageable.getPageSize(), Hospital::getId);
+            }
+            if (Paginacao.ordenadoPorId(pageable)) {
+                return Paginacao.pagina(Paginacao.fatiar(todos, pageable));
+            }
+            return Paginacao.pagina(service.listar(pageable));
+        });
+    }
+
+    @GetMapping(params = "since")
+    public SincronizacaoDTO<Hospital> listarAlteradosDesde(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        return service.alteradosDesde(since);
+    }
+
+    // Hospitais sugeridos pelo indice de especialidades, do mais aderente ao tratamento para o menos
+    @GetMapping(value = "/sugestoes", params = "tratamento")
+    public List<HospitalSugeridoDTO> sugerirPorTratamento(@RequestParam String tratamento,
+                                                          @RequestParam(defaultValue = "3") int limite) {
+        return indiceEspecialidades.hospitaisPara(tratamento, validarLimite(limite));
+    }
+
+    @GetMapping(value = "/sugestoes", params = "clienteId")
+    public SugestaoHospitalDTO sugerirParaCliente(@RequestParam Long clienteId,
+                                                  @RequestParam(defaultValue = "3") int limite) {
+        return indiceEspecialidades.sugerirParaCliente(clienteId, validarLimite(limite))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado"));
+    }
+
+    // Todos os clientes com atendimento na data, numa chamada so
+    @GetMapping(value = "/sugestoes", params = "data")
+    public List<SugestaoHospitalDTO> sugerirParaDia(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+                                                    @RequestParam(defaultValue = "3") int limite) {
+        return indiceEspecialidades.sugerirParaDia(data, validarLimite(limite));
     }
 
     @PostMapping
     public Hospital salvar(@RequestBody Hospital hospital) {
-        return repository.save(hospital);
+        return service.salvar(hospital);
     }
 
     @GetMapping("/{id}")
     public Hospital buscarPorId(@PathVariable Long id) {
-        return repository.findById(id).orElseThrow(() -> new RuntimeException("Hospital não encontrado"));
+        return service.buscar(id).orElseThrow(() -> new RuntimeException("Hospital não encontrado"));
     }
 
     @PutMapping("/{id}")
     public Hospital atualizar(@PathVariable Long id, @RequestBody Hospital hospitalAtualizado) {
-        return repository.findById(id).map(hospital -> {
-            hospital.setNome(hospitalAtualizado.getNome());
-            hospital.setEndereco(hospitalAtualizado.getEndereco());
-            hospital.setEspecialidades(hospitalAtualizado.getEspecialidades());
-            return repository.save(hospital);
-        }).orElseThrow(() -> new RuntimeException("Hospital não encontrado"));
+        return service.atualizar(id, hospitalAtualizado).orElseThrow(() -> new RuntimeException("Hospital não encontrado"));
     }
 
     @DeleteMapping("/{id}")
     public void excluir(@PathVariable Long id) {
-        repository.deleteById(id);
+        service.excluir(id);
+    }
+
+    private static int validarLimite(int limite) {
+        if (limite < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limite deve ser maior que zero");
+        }
+        return limite;
     }
 }
@@ -1,57 +1,94 @@
 package com.seuprojeto.demo.controllers;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.seuprojeto.demo.model.Motorista;
-import com.seuprojeto.demo.repository.MotoristaRepository;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.service.MotoristaService;
+import com.seuprojeto.demo.util.AtualizacaoParcial;
+import com.seuprojeto.demo.util.Paginacao;
+import com.seuprojeto.demo.util.Sincronizacao;
 
 @RestController
 @RequestMapping("/motoristas")
 public class MotoristaController {
 
-    private final MotoristaRepository repository;
+    private final MotoristaService service;
 
-    public MotoristaController(MotoristaRepository repository) {
-        this.repository = repository;
+    public MotoristaController(MotoristaService service) {
+        this.service = service;
     }
 
+    // Paginas por id (padrao) e cursor afterId saem da lista em cache
     @GetMapping
-    public List<Motorista> listar() {
-        return repository.findAll();
+    public ResponseEntity<List<Motorista>> listar(@RequestParam(required = false) Long afterId,
+                                                  @PageableDefault(size = 100, sort = "id") Pageable pageable,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        List<Motorista> todos = service.listarTodos();
+        String etag = Sincronizacao.etag(todos, Motorista::getAtualizadoEm, afterId, pageable.toString());
+        return Sincronizacao.condicional(ifNoneMatch, etag, () -> {
+            if (afterId != null) {
+                List<Motorista> itens = Paginacao.aposId(todos, afterId, pageable.getPageSize(), Motorista::getId);
+                return Paginacao.cursor(itens, pageable.getPageSize(), Motorista::getId);
+            }
+            if (Paginacao.ordenadoPorId(pageable)) {
+                return Paginacao.pagina(Paginacao.fatiar(todos, pageable));
+            }
+            return Paginacao.pagina(service.listar(pageable));
+        });
+    }
+
+    @GetMapping(params = "since")
+    public SincronizacaoDTO<Motorista> listarAlteradosDesde(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        return service.alteradosDesde(since);
     }
 
     @PostMapping
     public Motorista salvar(@RequestBody Motorista motorista) {
-        return repository.save(motorista);
+        return service.salvar(motorista);
     }
 
     @GetMapping("/{id}")
     public Motorista buscarPorId(@PathVariable Long id) {
-        return repository.findById(id).orElseThrow(() -> new RuntimeException("Motorista não encontrado"));
+        return service.buscar(id).orElseThrow(() -> new RuntimeException("Motorista não encontrado"));
     }
 
     @PutMapping("/{id}")
-    public Motorista atualizar(@PathVariable Long id, @RequestBody Motorista motoristaAtualizado) {
-        return repository.findById(id).map(motorista -> {
-            motorista.setNome(motoristaAtualizado.getNome());
-            motorista.setCarteiraHabilitacao(motoristaAtualizado.getCarteiraHabilitacao());
-            motorista.setTelefone(motoristaAtualizado.getTelefone());
-            motorista.setRegiaoAtuacao(motoristaAtualizado.getRegiaoAtuacao());
-            return repository.save(motorista);
-        }).orElseThrow(() -> new RuntimeException("Motorista não encontrado"));
+    public Motorista atualizar(@PathVariable Long id, @RequestBody Motorista motoristaAtualizado,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versaoEsperada = ifMatch != null ? AtualizacaoParcial.versaoEsperada(ifMatch, null) : motoristaAtualizado.getVersao();
+        return service.atualizar(id, motoristaAtualizado, versaoEsperada).orElseThrow(() -> new RuntimeException("Motorista não encontrado"));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Motorista> atualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> campos,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Motorista motorista = service.atualizarParcial(id, campos, AtualizacaoParcial.versaoEsperada(ifMatch, campos))
+                .orElseThrow(() -> new RuntimeException("Motorista não encontrado"));
+        return ResponseEntity.ok().eTag(String.valueOf(motorista.getVersao())).body(motorista);
     }
 
     @DeleteMapping("/{id}")
     public void excluir(@PathVariable Long id) {
-        repository.deleteById(id);
+        service.excluir(id);
     }
 }
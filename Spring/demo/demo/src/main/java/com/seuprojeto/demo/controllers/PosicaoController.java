@@ -0,0 +1,44 @@
+package com.seuprojeto.demo.controllers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.seuprojeto.demo.model.PosicaoAmbulancia;
+import com.seuprojeto.demo.service.PosicaoService;
+
+@RestController
+@RequestMapping("/ambulancias/posicoes")
+public class PosicaoController {
+
+    private final PosicaoService posicaoService;
+
+    public PosicaoController(PosicaoService posicaoService) {
+        this.posicaoService = posicaoService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Integer>> registrar(@RequestBody List<PosicaoAmbulancia> posicoes) {
+        int aceitas = posicaoService.registrar(posicoes);
+        return ResponseEntity.accepted().body(Map.of("recebidas", posicoes.size(), "aceitas", aceitas));
+    }
+
+    @GetMapping
+    public Collection<PosicaoAmbulancia> listar() {
+        return posicaoService.listarUltimas();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return posicaoService.inscrever();
+    }
+}
@@ -2,28 +2,51 @@ package com.seuprojeto.demo.filter;
 
 import com.seuprojeto.demo.service.UserDetailsServiceImpl;
 import com.seuprojeto.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final Timer tempoValido;
+    private final Timer tempoInvalido;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService, MeterRegistry registry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tempoValido = tempoAutenticacao(registry, "valido");
+        this.tempoInvalido = tempoAutenticacao(registry, "invalido");
+    }
+
+    // Tempo gasto validando o token e montando o usuario (sem contar o resto da requisicao)
+    private static Timer tempoAutenticacao(MeterRegistry registry, String resultado) {
+        return Timer.builder("jwt.filtro")
+                .description("Validacao do token JWT no filtro de autenticacao")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     @Override
@@ -33,22 +56,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long inicio = System.nanoTime();
+            String jwt = authorizationHeader.substring(7);
+            UserDetails userDetails = null;
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
+                userDetails = carregarUsuario(jwtUtil.validarToken(jwt));
+            } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
                 // Invalid token
             }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -56,8 +75,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+            (userDetails != null ? tempoValido : tempoInvalido).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Tokens novos trazem as roles como claim e dispensam o banco; tokens antigos usam o cache de usuarios
+    private UserDetails carregarUsuario(Claims claims) {
+        String username = claims.getSubject();
+        if (username == null) {
+            return null;
+        }
+        List<String> roles = jwtUtil.extractRoles(claims);
+        if (roles == null) {
+            return userDetailsService.carregarComCache(username);
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return User.withUsername(username)
+                .password("")
+                .authorities(authorities)
+                .build();
+    }
 }
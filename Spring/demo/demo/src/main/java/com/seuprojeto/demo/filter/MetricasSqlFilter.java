@@ -0,0 +1,67 @@
+package com.seuprojeto.demo.filter;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.seuprojeto.demo.config.ConsultasLentasDataSource;
+import com.seuprojeto.demo.config.ContadorSql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Comandos SQL por requisicao (http.server.sql.statements, por rota) e aviso de possivel N+1.
+// O endpoint fica no MDC durante a requisicao, para os logs estruturados e o log de consultas lentas.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasSqlFilter.class);
+
+    private final MeterRegistry registry;
+    private final int limiarNMaisUm;
+
+    public MetricasSqlFilter(MeterRegistry registry, @Value("${metricas.sql.limiar-n-mais-um:10}") int limiarNMaisUm) {
+        this.registry = registry;
+        this.limiarNMaisUm = limiarNMaisUm;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContadorSql.iniciar();
+        MDC.put(ConsultasLentasDataSource.MDC_ENDPOINT, request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(ConsultasLentasDataSource.MDC_ENDPOINT);
+            ContadorSql.Resultado resultado = ContadorSql.encerrar();
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("Comandos SQL executados por requisicao")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(resultado.total());
+            if (resultado.repeticoes() >= limiarNMaisUm) {
+                log.warn("Possivel N+1 em {} {}: {} execucoes de {}",
+                        request.getMethod(), uri, resultado.repeticoes(), resultado.selectMaisRepetido());
+            }
+        }
+    }
+}
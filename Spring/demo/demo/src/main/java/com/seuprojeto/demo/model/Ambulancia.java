@@ -1,13 +1,20 @@
 package com.seuprojeto.demo.model;
 
+import java.time.Instant;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
+@DynamicUpdate
 public class Ambulancia {
 
     @Id
@@ -17,7 +24,9 @@ public class Ambulancia {
     private String placa;
     private String modelo;
     private Integer capacidade;
-    private String status; // disponivel, em_uso, manutencao
+    // Muda so por transicao (PUT /ambulancias/{id}/status ou despacho), nunca por PUT/PATCH do cadastro.
+    // Nulo no corpo significa "nao enviado"; uma ambulancia nova sem status entra como disponivel.
+    private StatusAmbulancia status;
 
     
     @Column(name = "motorista_id")
@@ -26,10 +35,17 @@ public class Ambulancia {
     private Double latitude;
     private Double longitude;
 
+    // Controle de concorrencia otimista e sincronizacao incremental (?since=)
+    @Version
+    private Long versao;
+
+    @UpdateTimestamp
+    private Instant atualizadoEm;
+
     // Constructors
     public Ambulancia() {}
 
-    public Ambulancia(String placa, String modelo, Integer capacidade, String status, Long motoristaId, Double latitude, Double longitude) {
+    public Ambulancia(String placa, String modelo, Integer capacidade, StatusAmbulancia status, Long motoristaId, Double latitude, Double longitude) {
         this.placa = placa;
         this.modelo = modelo;
         this.capacidade = capacidade;
@@ -52,8 +68,8 @@ public class Ambulancia {
     public Integer getCapacidade() { return capacidade; }
     public void setCapacidade(Integer capacidade) { this.capacidade = capacidade; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public StatusAmbulancia getStatus() { return status; }
+    public void setStatus(StatusAmbulancia status) { this.status = status; }
 
     public Long getMotoristaId() { return motoristaId; }
     public void setMotoristaId(Long motoristaId) { this.motoristaId = motoristaId; }
@@ -63,4 +79,10 @@ public class Ambulancia {
 
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
+    public Instant getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(Instant atualizadoEm) { this.atualizadoEm = atualizadoEm; }
 }
@@ -6,7 +6,7 @@ public class AmbulanciaMotoristaDTO {
     private String placa;
     private String modelo;
     private Integer capacidade;
-    private String status;
+    private StatusAmbulancia status;
     private Double latitude;
     private Double longitude;
     private Long motoristaId;
@@ -16,7 +16,7 @@ public class AmbulanciaMotoristaDTO {
     // Constructors
     public AmbulanciaMotoristaDTO() {}
 
-    public AmbulanciaMotoristaDTO(Long ambulanciaId, String placa, String modelo, Integer capacidade, String status,
+    public AmbulanciaMotoristaDTO(Long ambulanciaId, String placa, String modelo, Integer capacidade, StatusAmbulancia status,
                                   Double latitude, Double longitude, Long motoristaId, String motoristaNome, String motoristaTelefone) {
         this.ambulanciaId = ambulanciaId;
         this.placa = placa;
@@ -43,8 +43,8 @@ public class AmbulanciaMotoristaDTO {
     public Integer getCapacidade() { return capacidade; }
     public void setCapacidade(Integer capacidade) { this.capacidade = capacidade; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public StatusAmbulancia getStatus() { return status; }
+    public void setStatus(StatusAmbulancia status) { this.status = status; }
 
     public Double getLatitude() { return latitude; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
@@ -0,0 +1,32 @@
+package com.seuprojeto.demo.model;
+
+public class AmbulanciaProximaDTO {
+
+    private Long ambulanciaId;
+    private Double latitude;
+    private Double longitude;
+    private Double distanciaKm;
+
+    // Constructors
+    public AmbulanciaProximaDTO() {}
+
+    public AmbulanciaProximaDTO(Long ambulanciaId, Double latitude, Double longitude, Double distanciaKm) {
+        this.ambulanciaId = ambulanciaId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanciaKm = distanciaKm;
+    }
+
+    // Getters and Setters
+    public Long getAmbulanciaId() { return ambulanciaId; }
+    public void setAmbulanciaId(Long ambulanciaId) { this.ambulanciaId = ambulanciaId; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Double getDistanciaKm() { return distanciaKm; }
+    public void setDistanciaKm(Double distanciaKm) { this.distanciaKm = distanciaKm; }
+}
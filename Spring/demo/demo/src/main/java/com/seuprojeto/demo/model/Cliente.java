@@ -1,17 +1,26 @@
 package com.seuprojeto.demo.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
+@DynamicUpdate
 public class Cliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequencia com alocacao em blocos: permite insercoes em lote (IDENTITY desliga o batching)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
     private Long id;
 
     private String cartao;
@@ -48,6 +57,13 @@ public class Cliente {
     // ODS 11 - Cidades e Comunidades Sustentaveis
     private String transporteSustentavel; // e.g., "veiculo_eletrico", "otimizacao_rotas"
 
+    // Controle de concorrencia otimista e sincronizacao incremental (?since=)
+    @Version
+    private Long versao;
+
+    @UpdateTimestamp
+    private Instant atualizadoEm;
+
     // ====================
     // Getters e Setters
     // ====================
@@ -117,4 +133,10 @@ public class Cliente {
 
     public String getTransporteSustentavel() { return transporteSustentavel; }
     public void setTransporteSustentavel(String transporteSustentavel) { this.transporteSustentavel = transporteSustentavel; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
+    public Instant getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(Instant atualizadoEm) { this.atualizadoEm = atualizadoEm; }
 }
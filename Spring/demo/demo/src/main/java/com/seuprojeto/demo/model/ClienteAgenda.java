@@ -0,0 +1,19 @@
+package com.seuprojeto.demo.model;
+
+// Projecao de Cliente para a agenda do dia (?view=schedule): so as colunas que a tela usa
+public interface ClienteAgenda {
+
+    Long getId();
+
+    String getNome();
+
+    String getBairro();
+
+    String getHorarioVan();
+
+    String getDestino();
+
+    String getTelefone();
+
+    boolean isAtendido();
+}
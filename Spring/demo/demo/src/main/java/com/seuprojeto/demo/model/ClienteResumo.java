@@ -0,0 +1,29 @@
+package com.seuprojeto.demo.model;
+
+import java.time.LocalDate;
+
+// Projecao de Cliente para listagens (?view=summary): sem acompanhante, endereco e campos ODS
+public interface ClienteResumo {
+
+    Long getId();
+
+    String getCartao();
+
+    String getNome();
+
+    String getTelefone();
+
+    String getBairro();
+
+    String getDestino();
+
+    LocalDate getDataAtendimento();
+
+    String getHorarioAtendimento();
+
+    String getHorarioVan();
+
+    String getTratamento();
+
+    boolean isAtendido();
+}
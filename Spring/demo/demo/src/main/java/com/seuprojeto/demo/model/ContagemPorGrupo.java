@@ -0,0 +1,9 @@
+package com.seuprojeto.demo.model;
+
+// Projecao das consultas GROUP BY usadas nas estatisticas
+public interface ContagemPorGrupo {
+
+    String getChave();
+
+    Long getTotal();
+}
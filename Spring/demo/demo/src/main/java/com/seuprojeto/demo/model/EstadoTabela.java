@@ -0,0 +1,11 @@
+package com.seuprojeto.demo.model;
+
+import java.time.Instant;
+
+// Quantidade de linhas e ultima alteracao de uma tabela, usadas para montar o ETag das listagens
+public interface EstadoTabela {
+
+    Long getTotal();
+
+    Instant getUltimaAlteracao();
+}
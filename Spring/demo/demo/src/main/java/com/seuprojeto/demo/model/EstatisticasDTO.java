@@ -0,0 +1,52 @@
+package com.seuprojeto.demo.model;
+
+import java.util.Map;
+
+public class EstatisticasDTO {
+
+    private long totalClientes;
+    private long clientesAtendidos;
+    private long clientesPendentes;
+    private Map<String, Long> clientesPorPrioridadeSaude;
+    private Map<String, Long> clientesPorGrupoVulneravel;
+    private Map<String, Long> clientesPorBairro;
+    private long totalMotoristas;
+    private long totalAmbulancias;
+    private Map<String, Long> ambulanciasPorStatus;
+    private long totalUsuarios;
+    private Map<String, Long> usuariosPorRole;
+
+    // Getters and Setters
+    public long getTotalClientes() { return totalClientes; }
+    public void setTotalClientes(long totalClientes) { this.totalClientes = totalClientes; }
+
+    public long getClientesAtendidos() { return clientesAtendidos; }
+    public void setClientesAtendidos(long clientesAtendidos) { this.clientesAtendidos = clientesAtendidos; }
+
+    public long getClientesPendentes() { return clientesPendentes; }
+    public void setClientesPendentes(long clientesPendentes) { this.clientesPendentes = clientesPendentes; }
+
+    public Map<String, Long> getClientesPorPrioridadeSaude() { return clientesPorPrioridadeSaude; }
+    public void setClientesPorPrioridadeSaude(Map<String, Long> clientesPorPrioridadeSaude) { this.clientesPorPrioridadeSaude = clientesPorPrioridadeSaude; }
+
+    public Map<String, Long> getClientesPorGrupoVulneravel() { return clientesPorGrupoVulneravel; }
+    public void setClientesPorGrupoVulneravel(Map<String, Long> clientesPorGrupoVulneravel) { this.clientesPorGrupoVulneravel = clientesPorGrupoVulneravel; }
+
+    public Map<String, Long> getClientesPorBairro() { return clientesPorBairro; }
+    public void setClientesPorBairro(Map<String, Long> clientesPorBairro) { this.clientesPorBairro = clientesPorBairro; }
+
+    public long getTotalMotoristas() { return totalMotoristas; }
+    public void setTotalMotoristas(long totalMotoristas) { this.totalMotoristas = totalMotoristas; }
+
+    public long getTotalAmbulancias() { return totalAmbulancias; }
+    public void setTotalAmbulancias(long totalAmbulancias) { this.totalAmbulancias = totalAmbulancias; }
+
+    public Map<String, Long> getAmbulanciasPorStatus() { return ambulanciasPorStatus; }
+    public void setAmbulanciasPorStatus(Map<String, Long> ambulanciasPorStatus) { this.ambulanciasPorStatus = ambulanciasPorStatus; }
+
+    public long getTotalUsuarios() { return totalUsuarios; }
+    public void setTotalUsuarios(long totalUsuarios) { this.totalUsuarios = totalUsuarios; }
+
+    public Map<String, Long> getUsuariosPorRole() { return usuariosPorRole; }
+    public void setUsuariosPorRole(Map<String, Long> usuariosPorRole) { this.usuariosPorRole = usuariosPorRole; }
+}
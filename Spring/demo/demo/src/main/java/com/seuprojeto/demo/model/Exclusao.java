@@ -0,0 +1,48 @@
+package com.seuprojeto.demo.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+// Registro (tombstone) de um id excluido, devolvido nas consultas ?since= das listagens
+@Entity
+public class Exclusao {
+
+    public static final String CLIENTE = "cliente";
+    public static final String AMBULANCIA = "ambulancia";
+    public static final String MOTORISTA = "motorista";
+    public static final String HOSPITAL = "hospital";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String entidade;
+    private Long entidadeId;
+    private Instant excluidoEm;
+
+    // Constructors
+    public Exclusao() {}
+
+    public Exclusao(String entidade, Long entidadeId, Instant excluidoEm) {
+        this.entidade = entidade;
+        this.entidadeId = entidadeId;
+        this.excluidoEm = excluidoEm;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEntidade() { return entidade; }
+    public void setEntidade(String entidade) { this.entidade = entidade; }
+
+    public Long getEntidadeId() { return entidadeId; }
+    public void setEntidadeId(Long entidadeId) { this.entidadeId = entidadeId; }
+
+    public Instant getExcluidoEm() { return excluidoEm; }
+    public void setExcluidoEm(Instant excluidoEm) { this.excluidoEm = excluidoEm; }
+}
@@ -1,9 +1,26 @@
 package com.seuprojeto.demo.model;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 public class Hospital {
@@ -14,15 +31,28 @@ public class Hospital {
 
     private String nome;
     private String endereco;
-    private String especialidades;
+    // Uma linha por especialidade em hospital_especialidade. Carregadas junto com o hospital
+    // (que fica no cache, fora de sessao); SUBSELECT busca as de uma lista inteira numa consulta so
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "hospital_especialidade", joinColumns = @JoinColumn(name = "hospital_id"))
+    @Column(name = "especialidade")
+    private Set<String> especialidades = new LinkedHashSet<>();
+
+    // Controle de concorrencia otimista e sincronizacao incremental (?since=)
+    @Version
+    private Long versao;
+
+    @UpdateTimestamp
+    private Instant atualizadoEm;
 
     // Constructors
     public Hospital() {}
 
-    public Hospital(String nome, String endereco, String especialidades) {
+    public Hospital(String nome, String endereco, Collection<String> especialidades) {
         this.nome = nome;
         this.endereco = endereco;
-        this.especialidades = especialidades;
+        setEspecialidades(especialidades);
     }
 
     // Getters and Setters
@@ -35,6 +65,27 @@ public class Hospital {
     public String getEndereco() { return endereco; }
     public void setEndereco(String endereco) { this.endereco = endereco; }
 
-    public String getEspecialidades() { return especialidades; }
-    public void setEspecialidades(String especialidades) { this.especialidades = especialidades; }
+    public Set<String> getEspecialidades() { return especialidades; }
+
+    // Sem espacos nas pontas, sem vazios e sem repetir a mesma especialidade com outra caixa
+    public void setEspecialidades(Collection<String> especialidades) {
+        Set<String> novas = new LinkedHashSet<>();
+        if (especialidades != null) {
+            Set<String> vistas = new HashSet<>();
+            for (String especialidade : especialidades) {
+                String limpa = especialidade == null ? "" : especialidade.trim();
+                if (!limpa.isEmpty() && vistas.add(limpa.toLowerCase(Locale.ROOT))) {
+                    novas.add(limpa);
+                }
+            }
+        }
+        this.especialidades.clear();
+        this.especialidades.addAll(novas);
+    }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
+    public Instant getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(Instant atualizadoEm) { this.atualizadoEm = atualizadoEm; }
 }
@@ -0,0 +1,27 @@
+package com.seuprojeto.demo.model;
+
+public class HospitalSugeridoDTO {
+
+    private Long id;
+    private String nome;
+    private int pontos;
+
+    // Constructors
+    public HospitalSugeridoDTO() {}
+
+    public HospitalSugeridoDTO(Long id, String nome, int pontos) {
+        this.id = id;
+        this.nome = nome;
+        this.pontos = pontos;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public int getPontos() { return pontos; }
+    public void setPontos(int pontos) { this.pontos = pontos; }
+}
@@ -1,11 +1,18 @@
 package com.seuprojeto.demo.model;
 
+import java.time.Instant;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
+@DynamicUpdate
 public class Motorista {
 
     @Id
@@ -17,6 +24,13 @@ public class Motorista {
     private String telefone;
     private String regiaoAtuacao;
 
+    // Controle de concorrencia otimista e sincronizacao incremental (?since=)
+    @Version
+    private Long versao;
+
+    @UpdateTimestamp
+    private Instant atualizadoEm;
+
     // Constructors
     public Motorista() {}
 
@@ -42,4 +56,10 @@ public class Motorista {
 
     public String getRegiaoAtuacao() { return regiaoAtuacao; }
     public void setRegiaoAtuacao(String regiaoAtuacao) { this.regiaoAtuacao = regiaoAtuacao; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
+    public Instant getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(Instant atualizadoEm) { this.atualizadoEm = atualizadoEm; }
 }
@@ -0,0 +1,47 @@
+package com.seuprojeto.demo.model;
+
+public class ParadaDTO {
+
+    private int ordem;
+    private Long clienteId;
+    private String nome;
+    private String endereco;
+    private String bairro;
+    private int vagas;
+    private String prioridadeSaude;
+
+    // Constructors
+    public ParadaDTO() {}
+
+    public ParadaDTO(int ordem, Long clienteId, String nome, String endereco, String bairro, int vagas, String prioridadeSaude) {
+        this.ordem = ordem;
+        this.clienteId = clienteId;
+        this.nome = nome;
+        this.endereco = endereco;
+        this.bairro = bairro;
+        this.vagas = vagas;
+        this.prioridadeSaude = prioridadeSaude;
+    }
+
+    // Getters and Setters
+    public int getOrdem() { return ordem; }
+    public void setOrdem(int ordem) { this.ordem = ordem; }
+
+    public Long getClienteId() { return clienteId; }
+    public void setClienteId(Long clienteId) { this.clienteId = clienteId; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public String getEndereco() { return endereco; }
+    public void setEndereco(String endereco) { this.endereco = endereco; }
+
+    public String getBairro() { return bairro; }
+    public void setBairro(String bairro) { this.bairro = bairro; }
+
+    public int getVagas() { return vagas; }
+    public void setVagas(int vagas) { this.vagas = vagas; }
+
+    public String getPrioridadeSaude() { return prioridadeSaude; }
+    public void setPrioridadeSaude(String prioridadeSaude) { this.prioridadeSaude = prioridadeSaude; }
+}
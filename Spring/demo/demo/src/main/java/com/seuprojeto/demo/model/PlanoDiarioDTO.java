@@ -0,0 +1,37 @@
+package com.seuprojeto.demo.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlanoDiarioDTO {
+
+    private LocalDate data;
+    private int totalClientes;
+    private int clientesAlocados;
+    private List<ViagemPlanejadaDTO> viagens = new ArrayList<>();
+    private List<ParadaDTO> naoAlocados = new ArrayList<>();
+
+    // Constructors
+    public PlanoDiarioDTO() {}
+
+    public PlanoDiarioDTO(LocalDate data) {
+        this.data = data;
+    }
+
+    // Getters and Setters
+    public LocalDate getData() { return data; }
+    public void setData(LocalDate data) { this.data = data; }
+
+    public int getTotalClientes() { return totalClientes; }
+    public void setTotalClientes(int totalClientes) { this.totalClientes = totalClientes; }
+
+    public int getClientesAlocados() { return clientesAlocados; }
+    public void setClientesAlocados(int clientesAlocados) { this.clientesAlocados = clientesAlocados; }
+
+    public List<ViagemPlanejadaDTO> getViagens() { return viagens; }
+    public void setViagens(List<ViagemPlanejadaDTO> viagens) { this.viagens = viagens; }
+
+    public List<ParadaDTO> getNaoAlocados() { return naoAlocados; }
+    public void setNaoAlocados(List<ParadaDTO> naoAlocados) { this.naoAlocados = naoAlocados; }
+}
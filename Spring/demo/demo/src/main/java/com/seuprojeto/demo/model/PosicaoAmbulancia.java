@@ -0,0 +1,32 @@
+package com.seuprojeto.demo.model;
+
+public class PosicaoAmbulancia {
+
+    private Long ambulanciaId;
+    private Double latitude;
+    private Double longitude;
+    private Long timestamp; // epoch em milissegundos
+
+    // Constructors
+    public PosicaoAmbulancia() {}
+
+    public PosicaoAmbulancia(Long ambulanciaId, Double latitude, Double longitude, Long timestamp) {
+        this.ambulanciaId = ambulanciaId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public Long getAmbulanciaId() { return ambulanciaId; }
+    public void setAmbulanciaId(Long ambulanciaId) { this.ambulanciaId = ambulanciaId; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Long getTimestamp() { return timestamp; }
+    public void setTimestamp(Long timestamp) { this.timestamp = timestamp; }
+}
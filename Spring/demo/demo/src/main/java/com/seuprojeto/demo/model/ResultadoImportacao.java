@@ -0,0 +1,25 @@
+package com.seuprojeto.demo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultadoImportacao {
+
+    private long linhas;
+    private long importados;
+    private long rejeitados;
+    private List<String> erros = new ArrayList<>();
+
+    // Getters and Setters
+    public long getLinhas() { return linhas; }
+    public void setLinhas(long linhas) { this.linhas = linhas; }
+
+    public long getImportados() { return importados; }
+    public void setImportados(long importados) { this.importados = importados; }
+
+    public long getRejeitados() { return rejeitados; }
+    public void setRejeitados(long rejeitados) { this.rejeitados = rejeitados; }
+
+    public List<String> getErros() { return erros; }
+    public void setErros(List<String> erros) { this.erros = erros; }
+}
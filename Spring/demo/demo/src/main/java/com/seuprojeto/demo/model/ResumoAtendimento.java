@@ -0,0 +1,9 @@
+package com.seuprojeto.demo.model;
+
+// Total de clientes e quantos ja foram atendidos, calculados em uma unica consulta
+public interface ResumoAtendimento {
+
+    Long getTotal();
+
+    Long getAtendidos();
+}
@@ -0,0 +1,36 @@
+package com.seuprojeto.demo.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SincronizacaoDTO<T> {
+
+    private List<T> itens = new ArrayList<>();
+    private List<Long> excluidos = new ArrayList<>();
+    private Instant sincronizadoEm;
+    private boolean completo;
+
+    // Constructors
+    public SincronizacaoDTO() {}
+
+    public SincronizacaoDTO(List<T> itens, List<Long> excluidos, Instant sincronizadoEm, boolean completo) {
+        this.itens = itens;
+        this.excluidos = excluidos;
+        this.sincronizadoEm = sincronizadoEm;
+        this.completo = completo;
+    }
+
+    // Getters and Setters
+    public List<T> getItens() { return itens; }
+    public void setItens(List<T> itens) { this.itens = itens; }
+
+    public List<Long> getExcluidos() { return excluidos; }
+    public void setExcluidos(List<Long> excluidos) { this.excluidos = excluidos; }
+
+    public Instant getSincronizadoEm() { return sincronizadoEm; }
+    public void setSincronizadoEm(Instant sincronizadoEm) { this.sincronizadoEm = sincronizadoEm; }
+
+    public boolean isCompleto() { return completo; }
+    public void setCompleto(boolean completo) { this.completo = completo; }
+}
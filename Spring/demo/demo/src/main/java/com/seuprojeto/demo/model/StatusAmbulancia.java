@@ -0,0 +1,54 @@
+package com.seuprojeto.demo.model;
+
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Situacao de uma ambulancia. No banco e no JSON vale o codigo (disponivel, em_uso, manutencao),
+ * o mesmo texto que a coluna sempre guardou.
+ */
+public enum StatusAmbulancia {
+
+    DISPONIVEL("disponivel"),
+    EM_USO("em_uso"),
+    MANUTENCAO("manutencao");
+
+    private final String codigo;
+
+    StatusAmbulancia(String codigo) {
+        this.codigo = codigo;
+    }
+
+    @JsonValue
+    public String getCodigo() {
+        return codigo;
+    }
+
+    // Manutencao so termina com a ambulancia de volta a frota disponivel
+    public boolean podeIrPara(StatusAmbulancia destino) {
+        Set<StatusAmbulancia> permitidos = switch (this) {
+            case DISPONIVEL -> Set.of(EM_USO, MANUTENCAO);
+            case EM_USO -> Set.of(DISPONIVEL, MANUTENCAO);
+            case MANUTENCAO -> Set.of(DISPONIVEL);
+        };
+        return permitidos.contains(destino);
+    }
+
+    // Aceita o codigo ou o nome da constante, sem diferenciar maiusculas
+    @JsonCreator
+    public static StatusAmbulancia de(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String normalizado = valor.trim().toLowerCase(Locale.ROOT);
+        for (StatusAmbulancia status : values()) {
+            if (status.codigo.equals(normalizado)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Status de ambulancia invalido: " + valor);
+    }
+}
@@ -0,0 +1,19 @@
+package com.seuprojeto.demo.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Grava o codigo do status (texto da coluna ambulancia.status), nao o ordinal nem o nome da constante
+@Converter(autoApply = true)
+public class StatusAmbulanciaConverter implements AttributeConverter<StatusAmbulancia, String> {
+
+    @Override
+    public String convertToDatabaseColumn(StatusAmbulancia status) {
+        return status != null ? status.getCodigo() : null;
+    }
+
+    @Override
+    public StatusAmbulancia convertToEntityAttribute(String codigo) {
+        return StatusAmbulancia.de(codigo);
+    }
+}
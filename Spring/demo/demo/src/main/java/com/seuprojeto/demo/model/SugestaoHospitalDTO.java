@@ -0,0 +1,39 @@
+package com.seuprojeto.demo.model;
+
+import java.util.List;
+
+public class SugestaoHospitalDTO {
+
+    private Long clienteId;
+    private String nome;
+    private String tratamento;
+    private String destinoAtual;
+    private List<HospitalSugeridoDTO> hospitais;
+
+    // Constructors
+    public SugestaoHospitalDTO() {}
+
+    public SugestaoHospitalDTO(Long clienteId, String nome, String tratamento, String destinoAtual, List<HospitalSugeridoDTO> hospitais) {
+        this.clienteId = clienteId;
+        this.nome = nome;
+        this.tratamento = tratamento;
+        this.destinoAtual = destinoAtual;
+        this.hospitais = hospitais;
+    }
+
+    // Getters and Setters
+    public Long getClienteId() { return clienteId; }
+    public void setClienteId(Long clienteId) { this.clienteId = clienteId; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public String getTratamento() { return tratamento; }
+    public void setTratamento(String tratamento) { this.tratamento = tratamento; }
+
+    public String getDestinoAtual() { return destinoAtual; }
+    public void setDestinoAtual(String destinoAtual) { this.destinoAtual = destinoAtual; }
+
+    public List<HospitalSugeridoDTO> getHospitais() { return hospitais; }
+    public void setHospitais(List<HospitalSugeridoDTO> hospitais) { this.hospitais = hospitais; }
+}
@@ -0,0 +1,23 @@
+package com.seuprojeto.demo.model;
+
+// Corpo de PUT /ambulancias/{id}/status; sem "de", vale o status atual lido do banco
+public class TransicaoStatusDTO {
+
+    private StatusAmbulancia de;
+    private StatusAmbulancia para;
+
+    // Constructors
+    public TransicaoStatusDTO() {}
+
+    public TransicaoStatusDTO(StatusAmbulancia de, StatusAmbulancia para) {
+        this.de = de;
+        this.para = para;
+    }
+
+    // Getters and Setters
+    public StatusAmbulancia getDe() { return de; }
+    public void setDe(StatusAmbulancia de) { this.de = de; }
+
+    public StatusAmbulancia getPara() { return para; }
+    public void setPara(StatusAmbulancia para) { this.para = para; }
+}
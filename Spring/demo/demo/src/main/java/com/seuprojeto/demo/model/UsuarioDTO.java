@@ -0,0 +1,37 @@
+package com.seuprojeto.demo.model;
+
+// Usuario como sai na API: sem o hash da senha
+public class UsuarioDTO {
+
+    private Long id;
+    private String nome;
+    private String email;
+    private String role;
+
+    // Constructors
+    public UsuarioDTO() {}
+
+    public UsuarioDTO(Long id, String nome, String email, String role) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.role = role;
+    }
+
+    public static UsuarioDTO de(Usuario usuario) {
+        return new UsuarioDTO(usuario.getId(), usuario.getNome(), usuario.getEmail(), usuario.getRole());
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+}
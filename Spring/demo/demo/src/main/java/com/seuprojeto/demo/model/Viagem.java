@@ -0,0 +1,70 @@
+package com.seuprojeto.demo.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+/**
+ * Uma viagem de um cliente em uma data. No PostgreSQL a tabela e particionada por mes de
+ * dataAtendimento (ParticoesViagemService), entao as consultas do dia leem uma particao so.
+ * A viagem pendente (nao atendida) de cada cliente espelha os campos de viagem do Cliente.
+ */
+@Entity
+public class Viagem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "viagem_seq")
+    @SequenceGenerator(name = "viagem_seq", sequenceName = "viagem_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    // Chave de particionamento: faz parte da chave primaria no PostgreSQL
+    @Column(nullable = false)
+    private LocalDate dataAtendimento;
+
+    private String horarioVan;
+    private String horarioAtendimento;
+    private String destino;
+    private Integer vagas;
+    private boolean atendido = false;
+
+    // Constructors
+    public Viagem() {}
+
+    public Viagem(Long clienteId, LocalDate dataAtendimento) {
+        this.clienteId = clienteId;
+        this.dataAtendimento = dataAtendimento;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getClienteId() { return clienteId; }
+    public void setClienteId(Long clienteId) { this.clienteId = clienteId; }
+
+    public LocalDate getDataAtendimento() { return dataAtendimento; }
+    public void setDataAtendimento(LocalDate dataAtendimento) { this.dataAtendimento = dataAtendimento; }
+
+    public String getHorarioVan() { return horarioVan; }
+    public void setHorarioVan(String horarioVan) { this.horarioVan = horarioVan; }
+
+    public String getHorarioAtendimento() { return horarioAtendimento; }
+    public void setHorarioAtendimento(String horarioAtendimento) { this.horarioAtendimento = horarioAtendimento; }
+
+    public String getDestino() { return destino; }
+    public void setDestino(String destino) { this.destino = destino; }
+
+    public Integer getVagas() { return vagas; }
+    public void setVagas(Integer vagas) { this.vagas = vagas; }
+
+    public boolean isAtendido() { return atendido; }
+    public void setAtendido(boolean atendido) { this.atendido = atendido; }
+}
@@ -0,0 +1,44 @@
+package com.seuprojeto.demo.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+// Viagem atendida e antiga, movida para fora da tabela viagem pelo ArquivamentoViagemService.
+// Guarda so o necessario para historico e estatisticas; o id e o da viagem original.
+@Entity
+public class ViagemArquivo {
+
+    @Id
+    private Long id;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    @Column(nullable = false)
+    private LocalDate dataAtendimento;
+
+    private String destino;
+    private Integer vagas;
+
+    // Constructors
+    public ViagemArquivo() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getClienteId() { return clienteId; }
+    public void setClienteId(Long clienteId) { this.clienteId = clienteId; }
+
+    public LocalDate getDataAtendimento() { return dataAtendimento; }
+    public void setDataAtendimento(LocalDate dataAtendimento) { this.dataAtendimento = dataAtendimento; }
+
+    public String getDestino() { return destino; }
+    public void setDestino(String destino) { this.destino = destino; }
+
+    public Integer getVagas() { return vagas; }
+    public void setVagas(Integer vagas) { this.vagas = vagas; }
+}
@@ -0,0 +1,24 @@
+package com.seuprojeto.demo.model;
+
+// Projecao de Viagem com o cadastro do Cliente: os campos de viagem sao os daquela data
+// (inclusive do historico ja atendido), nao os da viagem atual do cliente
+public interface ViagemDoDia {
+
+    Long getClienteId();
+
+    String getNome();
+
+    String getBairro();
+
+    String getTratamento();
+
+    String getHorarioVan();
+
+    String getHorarioAtendimento();
+
+    String getDestino();
+
+    Integer getVagas();
+
+    boolean isAtendido();
+}
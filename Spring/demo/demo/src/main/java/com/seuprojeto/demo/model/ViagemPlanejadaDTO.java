@@ -0,0 +1,52 @@
+package com.seuprojeto.demo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ViagemPlanejadaDTO {
+
+    private Long ambulanciaId;
+    private String placa;
+    private int capacidade;
+    private int ocupacao;
+    private String horarioVan;
+    private String destino;
+    private List<String> bairros = new ArrayList<>();
+    private List<ParadaDTO> paradas = new ArrayList<>();
+
+    // Constructors
+    public ViagemPlanejadaDTO() {}
+
+    public ViagemPlanejadaDTO(Long ambulanciaId, String placa, int capacidade, String horarioVan, String destino) {
+        this.ambulanciaId = ambulanciaId;
+        this.placa = placa;
+        this.capacidade = capacidade;
+        this.horarioVan = horarioVan;
+        this.destino = destino;
+    }
+
+    // Getters and Setters
+    public Long getAmbulanciaId() { return ambulanciaId; }
+    public void setAmbulanciaId(Long ambulanciaId) { this.ambulanciaId = ambulanciaId; }
+
+    public String getPlaca() { return placa; }
+    public void setPlaca(String placa) { this.placa = placa; }
+
+    public int getCapacidade() { return capacidade; }
+    public void setCapacidade(int capacidade) { this.capacidade = capacidade; }
+
+    public int getOcupacao() { return ocupacao; }
+    public void setOcupacao(int ocupacao) { this.ocupacao = ocupacao; }
+
+    public String getHorarioVan() { return horarioVan; }
+    public void setHorarioVan(String horarioVan) { this.horarioVan = horarioVan; }
+
+    public String getDestino() { return destino; }
+    public void setDestino(String destino) { this.destino = destino; }
+
+    public List<String> getBairros() { return bairros; }
+    public void setBairros(List<String> bairros) { this.bairros = bairros; }
+
+    public List<ParadaDTO> getParadas() { return paradas; }
+    public void setParadas(List<ParadaDTO> paradas) { this.paradas = paradas; }
+}
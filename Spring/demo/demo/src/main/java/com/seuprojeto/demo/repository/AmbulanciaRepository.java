@@ -1,10 +1,63 @@
 package com.seuprojeto.demo.repository;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.AmbulanciaMotoristaDTO;
+import com.seuprojeto.demo.model.ContagemPorGrupo;
+import com.seuprojeto.demo.model.EstadoTabela;
+import com.seuprojeto.demo.model.StatusAmbulancia;
 
 @Repository
 public interface AmbulanciaRepository extends JpaRepository<Ambulancia, Long> {
+
+    List<Ambulancia> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Ambulancia> findByStatus(StatusAmbulancia status);
+
+    List<Ambulancia> findByAtualizadoEmAfterOrderByIdAsc(Instant atualizadoEm);
+
+    @Query("SELECT COUNT(a) AS total, MAX(a.atualizadoEm) AS ultimaAlteracao FROM Ambulancia a")
+    EstadoTabela estado();
+
+    // Ambulancias com os dados do motorista em uma unica consulta (LEFT JOIN)
+    @Query("SELECT new com.seuprojeto.demo.model.AmbulanciaMotoristaDTO("
+            + "a.id, a.placa, a.modelo, a.capacidade, a.status, a.latitude, a.longitude, "
+            + "m.id, m.nome, m.telefone) "
+            + "FROM Ambulancia a LEFT JOIN Motorista m ON m.id = a.motoristaId "
+            + "ORDER BY a.id")
+    List<AmbulanciaMotoristaDTO> findAllCombined();
+
+    // Nativa: a chave e o codigo gravado na coluna (disponivel, em_uso...), nao o nome da constante
+    @Query(nativeQuery = true, value = "SELECT status AS chave, COUNT(*) AS total FROM ambulancia GROUP BY status")
+    List<ContagemPorGrupo> contarPorStatus();
+
+    @Query("SELECT a FROM Ambulancia a WHERE a.status = :status "
+            + "AND a.latitude BETWEEN :latitudeMin AND :latitudeMax "
+            + "AND a.longitude BETWEEN :longitudeMin AND :longitudeMax")
+    List<Ambulancia> findDisponiveisNaCaixa(@Param("status") StatusAmbulancia status,
+                                             @Param("latitudeMin") double latitudeMin, @Param("latitudeMax") double latitudeMax,
+                                             @Param("longitudeMin") double longitudeMin, @Param("longitudeMax") double longitudeMax);
+
+    // Compare-and-set do status: so muda se ainda estiver em "de"; 0 linhas = outro despachante chegou antes.
+    // Incrementa a versao, entao um PUT com a versao antiga passa a dar 409.
+    @Modifying
+    @Query("UPDATE Ambulancia a SET a.status = :para, a.versao = a.versao + 1, a.atualizadoEm = :agora "
+            + "WHERE a.id = :id AND a.status = :de")
+    int trocarStatus(@Param("id") Long id, @Param("de") StatusAmbulancia de, @Param("para") StatusAmbulancia para,
+                     @Param("agora") Instant agora);
+
+    @Modifying
+    // Posicao nao incrementa a versao (nao conflita com edicoes do cadastro), mas marca atualizadoEm
+    @Query("UPDATE Ambulancia a SET a.latitude = :latitude, a.longitude = :longitude, a.atualizadoEm = :agora WHERE a.id = :id")
+    int atualizarPosicao(@Param("id") Long id, @Param("latitude") Double latitude, @Param("longitude") Double longitude,
+                         @Param("agora") Instant agora);
 }
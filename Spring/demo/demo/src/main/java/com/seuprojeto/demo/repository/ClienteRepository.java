@@ -1,15 +1,94 @@
 package com.seuprojeto.demo.repository;
 
 import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.ContagemPorGrupo;
+import com.seuprojeto.demo.model.EstadoTabela;
+import com.seuprojeto.demo.model.ResumoAtendimento;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
-    List<Cliente> findByDataAtendimento(LocalDate dataAtendimento);
+    // Consultas do dia partem da tabela viagem (so a particao da data) e buscam os clientes pelo id
+    String CLIENTES_DO_DIA = "SELECT v.clienteId FROM Viagem v WHERE v.dataAtendimento = :data";
+
+    // A viagem pendente espelha os campos de viagem do Cliente; o dia inteiro, com o historico,
+    // vem de ViagemRepository.findDoDia
+    @Query("SELECT c FROM Cliente c WHERE c.id IN (" + CLIENTES_DO_DIA + " AND v.atendido = false)")
+    List<Cliente> findByDataAtendimentoAndAtendidoFalse(@Param("data") LocalDate dataAtendimento);
+
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Projecoes dinamicas (ClienteAgenda, ClienteResumo): o SELECT traz so as colunas da interface
+    <T> Page<T> findAllBy(Pageable pageable, Class<T> tipo);
+
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> tipo);
+
+    List<Cliente> findByAtualizadoEmAfterOrderByIdAsc(Instant atualizadoEm);
+
+    @Query("SELECT COUNT(c) AS total, MAX(c.atualizadoEm) AS ultimaAlteracao FROM Cliente c")
+    EstadoTabela estado();
+
+    // Cursor para a exportacao: linhas buscadas em blocos, sem snapshot de dirty checking
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT c FROM Cliente c ORDER BY c.id")
+    Stream<Cliente> streamTodos();
+
+    // Texto da busca aproximada; tem de ser identico a expressao do indice idx_cliente_busca_trgm (schema.sql)
+    String TEXTO_BUSCA = "lower(coalesce(c.nome, '') || ' ' || coalesce(c.cartao, '') || ' ' || "
+            + "regexp_replace(coalesce(c.telefone, ''), '[^0-9]', '', 'g') || ' ' || coalesce(c.bairro, ''))";
+
+    // pg_trgm: <% usa o indice GIN; word_similarity ordena (tolera erros e casa prefixos de palavras)
+    @Query(nativeQuery = true,
+            value = "SELECT c.* FROM cliente c WHERE lower(:q) <% " + TEXTO_BUSCA
+                    + " ORDER BY word_similarity(lower(:q), " + TEXTO_BUSCA + ") DESC, c.id",
+            countQuery = "SELECT count(*) FROM cliente c WHERE lower(:q) <% " + TEXTO_BUSCA)
+    Page<Cliente> buscarPorSimilaridade(@Param("q") String q, Pageable pageable);
+
+    // Atendimento em lote: um UPDATE por chamada; versao e atualizadoEm mudam como numa edicao normal
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Cliente c SET c.atendido = true, c.versao = c.versao + 1, c.atualizadoEm = :agora "
+            + "WHERE c.id IN :ids AND c.atendido = false")
+    int marcarAtendidos(@Param("ids") Collection<Long> ids, @Param("agora") Instant agora);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Cliente c SET c.atendido = true, c.versao = c.versao + 1, c.atualizadoEm = :agora "
+            + "WHERE c.id IN (" + CLIENTES_DO_DIA + " AND v.atendido = false) AND c.atendido = false")
+    int marcarAtendidosDoDia(@Param("data") LocalDate data, @Param("agora") Instant agora);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Cliente c SET c.atendido = true, c.versao = c.versao + 1, c.atualizadoEm = :agora "
+            + "WHERE c.id IN (" + CLIENTES_DO_DIA + " AND v.atendido = false) AND c.bairro = :bairro AND c.atendido = false")
+    int marcarAtendidosDoDiaNoBairro(@Param("data") LocalDate data, @Param("bairro") String bairro, @Param("agora") Instant agora);
+
+    @Query("SELECT COUNT(c) AS total, SUM(CASE WHEN c.atendido = true THEN 1 ELSE 0 END) AS atendidos FROM Cliente c")
+    ResumoAtendimento resumirAtendimentos();
+
+    @Query("SELECT c.prioridadeSaude AS chave, COUNT(c) AS total FROM Cliente c GROUP BY c.prioridadeSaude")
+    List<ContagemPorGrupo> contarPorPrioridadeSaude();
+
+    @Query("SELECT c.grupoVulneravel AS chave, COUNT(c) AS total FROM Cliente c GROUP BY c.grupoVulneravel")
+    List<ContagemPorGrupo> contarPorGrupoVulneravel();
+
+    @Query("SELECT c.bairro AS chave, COUNT(c) AS total FROM Cliente c GROUP BY c.bairro ORDER BY COUNT(c) DESC")
+    List<ContagemPorGrupo> contarPorBairro();
 
 }
@@ -0,0 +1,23 @@
+package com.seuprojeto.demo.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.seuprojeto.demo.model.Exclusao;
+
+@Repository
+public interface ExclusaoRepository extends JpaRepository<Exclusao, Long> {
+
+    @Query("SELECT DISTINCT e.entidadeId FROM Exclusao e WHERE e.entidade = :entidade AND e.excluidoEm > :desde")
+    List<Long> idsExcluidosDesde(@Param("entidade") String entidade, @Param("desde") Instant desde);
+
+    @Modifying
+    @Query("DELETE FROM Exclusao e WHERE e.excluidoEm < :limite")
+    int excluirAnterioresA(@Param("limite") Instant limite);
+}
@@ -1,5 +1,9 @@
 package com.seuprojeto.demo.repository;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,4 +11,8 @@ import com.seuprojeto.demo.model.Hospital;
 
 @Repository
 public interface HospitalRepository extends JpaRepository<Hospital, Long> {
+
+    List<Hospital> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Hospital> findByAtualizadoEmAfterOrderByIdAsc(Instant atualizadoEm);
 }
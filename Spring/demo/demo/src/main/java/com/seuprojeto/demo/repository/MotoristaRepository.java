@@ -1,5 +1,9 @@
 package com.seuprojeto.demo.repository;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,4 +11,8 @@ import com.seuprojeto.demo.model.Motorista;
 
 @Repository
 public interface MotoristaRepository extends JpaRepository<Motorista, Long> {
+
+    List<Motorista> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Motorista> findByAtualizadoEmAfterOrderByIdAsc(Instant atualizadoEm);
 }
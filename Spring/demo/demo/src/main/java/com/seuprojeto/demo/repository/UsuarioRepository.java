@@ -1,14 +1,26 @@
 package com.seuprojeto.demo.repository;
 
+import com.seuprojeto.demo.model.ContagemPorGrupo;
 import com.seuprojeto.demo.model.Usuario;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-
+import java.util.List;
 import java.util.Optional;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     Optional<Usuario> findByEmail(String email);
 
+    List<Usuario> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    Page<Usuario> findByRole(String role, Pageable pageable);
+
+    @Query("SELECT u.role AS chave, COUNT(u) AS total FROM Usuario u GROUP BY u.role")
+    List<ContagemPorGrupo> contarPorRole();
+
 }
 
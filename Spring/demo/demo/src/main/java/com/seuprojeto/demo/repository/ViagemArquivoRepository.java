@@ -0,0 +1,23 @@
+package com.seuprojeto.demo.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.seuprojeto.demo.model.ViagemArquivo;
+
+@Repository
+public interface ViagemArquivoRepository extends JpaRepository<ViagemArquivo, Long> {
+
+    // INSERT ... SELECT no banco: as viagens nao passam pela aplicacao
+    @Modifying
+    @Query("INSERT INTO ViagemArquivo (id, clienteId, dataAtendimento, destino, vagas) "
+            + "SELECT v.id, v.clienteId, v.dataAtendimento, v.destino, v.vagas FROM Viagem v "
+            + "WHERE v.id IN :ids AND v.dataAtendimento < :limite")
+    int copiar(@Param("ids") Collection<Long> ids, @Param("limite") LocalDate limite);
+}
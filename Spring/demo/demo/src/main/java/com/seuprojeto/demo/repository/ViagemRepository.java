@@ -0,0 +1,72 @@
+package com.seuprojeto.demo.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.seuprojeto.demo.model.Viagem;
+import com.seuprojeto.demo.model.ViagemDoDia;
+
+import jakarta.persistence.LockModeType;
+
+// Consultas com dataAtendimento no WHERE leem so as particoes do periodo (partition pruning)
+@Repository
+public interface ViagemRepository extends JpaRepository<Viagem, Long> {
+
+    // Pode haver uma atendida (historico) e uma pendente na mesma data; a mais recente primeiro
+    Optional<Viagem> findFirstByClienteIdAndDataAtendimentoAndAtendidoOrderByIdDesc(Long clienteId, LocalDate dataAtendimento,
+                                                                                    boolean atendido);
+
+    List<Viagem> findByClienteIdOrderByDataAtendimentoAsc(Long clienteId);
+
+    // Agenda do dia: le so a particao da data; do Cliente vem apenas o cadastro
+    @Query("SELECT c.id AS clienteId, c.nome AS nome, c.bairro AS bairro, c.tratamento AS tratamento, "
+            + "v.horarioVan AS horarioVan, v.horarioAtendimento AS horarioAtendimento, v.destino AS destino, "
+            + "v.vagas AS vagas, v.atendido AS atendido "
+            + "FROM Viagem v JOIN Cliente c ON c.id = v.clienteId WHERE v.dataAtendimento = :data ORDER BY v.id")
+    List<ViagemDoDia> findDoDia(@Param("data") LocalDate data);
+
+    // Reagendamento: a viagem pendente de outra data deixa de existir; as atendidas ficam no historico
+    @Modifying
+    @Query("DELETE FROM Viagem v WHERE v.clienteId = :clienteId AND v.atendido = false AND v.dataAtendimento <> :data")
+    int removerPendentesExceto(@Param("clienteId") Long clienteId, @Param("data") LocalDate data);
+
+    @Modifying
+    @Query("DELETE FROM Viagem v WHERE v.clienteId = :clienteId AND v.atendido = false")
+    int removerPendentes(@Param("clienteId") Long clienteId);
+
+    @Modifying
+    @Query("DELETE FROM Viagem v WHERE v.clienteId = :clienteId")
+    int removerDoCliente(@Param("clienteId") Long clienteId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Viagem v SET v.atendido = true WHERE v.clienteId IN :clienteIds AND v.atendido = false")
+    int marcarAtendidas(@Param("clienteIds") Collection<Long> clienteIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Viagem v SET v.atendido = true WHERE v.dataAtendimento = :data AND v.atendido = false")
+    int marcarAtendidasDoDia(@Param("data") LocalDate data);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Viagem v SET v.atendido = true WHERE v.dataAtendimento = :data AND v.atendido = false "
+            + "AND v.clienteId IN (SELECT c.id FROM Cliente c WHERE c.bairro = :bairro)")
+    int marcarAtendidasDoDiaNoBairro(@Param("data") LocalDate data, @Param("bairro") String bairro);
+
+    // Proximo lote a arquivar, travado ate o fim da transacao que copia e apaga
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Viagem v WHERE v.atendido = true AND v.dataAtendimento < :limite ORDER BY v.dataAtendimento, v.id")
+    List<Viagem> travarParaArquivar(@Param("limite") LocalDate limite, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Viagem v WHERE v.id IN :ids AND v.dataAtendimento < :limite")
+    int removerArquivadas(@Param("ids") Collection<Long> ids, @Param("limite") LocalDate limite);
+}
@@ -0,0 +1,217 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.AmbulanciaMotoristaDTO;
+import com.seuprojeto.demo.model.EstadoTabela;
+import com.seuprojeto.demo.model.Exclusao;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.model.StatusAmbulancia;
+import com.seuprojeto.demo.repository.AmbulanciaRepository;
+import com.seuprojeto.demo.util.AposCommit;
+import com.seuprojeto.demo.util.AtualizacaoParcial;
+import com.seuprojeto.demo.util.RegistroDisponibilidade;
+
+/**
+ * Cadastro de ambulancias. As escritas mantem o indice espacial e a ultima posicao
+ * conhecida em dia com o banco.
+ *
+ * O status so muda por transicao: um UPDATE condicional (WHERE status = de) decide quem ganha
+ * quando dois despachantes disputam a mesma ambulancia. O registro de disponiveis em memoria
+ * so indica candidatas; cada uma e reservada nele antes do UPDATE, para que despachos
+ * simultaneos nao tentem a mesma linha.
+ */
+@Service
+public class AmbulanciaService {
+
+    private final AmbulanciaRepository repository;
+    private final SincronizacaoService sincronizacaoService;
+    private final IndiceEspacialService indiceEspacialService;
+    private final PosicaoService posicaoService;
+    private final TransactionTemplate transacao;
+    private final RegistroDisponibilidade disponiveis = new RegistroDisponibilidade();
+
+    public AmbulanciaService(AmbulanciaRepository repository, SincronizacaoService sincronizacaoService,
+                             IndiceEspacialService indiceEspacialService, PosicaoService posicaoService,
+                             PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.sincronizacaoService = sincronizacaoService;
+        this.indiceEspacialService = indiceEspacialService;
+        this.posicaoService = posicaoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        disponiveis.limpar();
+        repository.findByStatus(StatusAmbulancia.DISPONIVEL).forEach(ambulancia -> disponiveis.liberar(ambulancia.getId()));
+    }
+
+    public int quantidadeDisponiveis() {
+        return disponiveis.tamanho();
+    }
+
+    @Transactional(readOnly = true)
+    public EstadoTabela estado() {
+        return repository.estado();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Ambulancia> listar(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Ambulancia> listarAposId(Long afterId, int limite) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limite));
+    }
+
+    public SincronizacaoDTO<Ambulancia> alteradasDesde(Instant since) {
+        return sincronizacaoService.desde(Exclusao.AMBULANCIA, since, repository::findByAtualizadoEmAfterOrderByIdAsc);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AmbulanciaMotoristaDTO> listarComMotorista() {
+        return repository.findAllCombined();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Ambulancia> buscar(Long id) {
+        return repository.findById(id);
+    }
+
+    @Transactional
+    public Ambulancia salvar(Ambulancia ambulancia) {
+        if (ambulancia.getStatus() == null) {
+            ambulancia.setStatus(StatusAmbulancia.DISPONIVEL);
+        }
+        Ambulancia salva = repository.save(ambulancia);
+        AposCommit.executar(() -> {
+            indiceEspacialService.sincronizar(salva);
+            if (salva.getStatus() == StatusAmbulancia.DISPONIVEL) {
+                disponiveis.liberar(salva.getId());
+            } else {
+                disponiveis.remover(salva.getId());
+            }
+        });
+        return salva;
+    }
+
+    @Transactional
+    public Optional<Ambulancia> atualizar(Long id, Ambulancia dados, Long versaoEsperada) {
+        return repository.findById(id).map(ambulancia -> {
+            AtualizacaoParcial.verificarVersao(Ambulancia.class, id, versaoEsperada, ambulancia.getVersao());
+            if (dados.getStatus() != null && dados.getStatus() != ambulancia.getStatus()) {
+                throw statusSoPorTransicao();
+            }
+            ambulancia.setPlaca(dados.getPlaca());
+            ambulancia.setModelo(dados.getModelo());
+            ambulancia.setCapacidade(dados.getCapacidade());
+            ambulancia.setMotoristaId(dados.getMotoristaId());
+            ambulancia.setLatitude(dados.getLatitude());
+            ambulancia.setLongitude(dados.getLongitude());
+            return salvar(ambulancia);
+        });
+    }
+
+    @Transactional
+    public Optional<Ambulancia> atualizarParcial(Long id, Map<String, Object> campos, Long versaoEsperada) {
+        if (campos.containsKey("status")) {
+            throw statusSoPorTransicao();
+        }
+        return repository.findById(id).map(ambulancia -> {
+            AtualizacaoParcial.verificarVersao(Ambulancia.class, id, versaoEsperada, ambulancia.getVersao());
+            AtualizacaoParcial.aplicar(ambulancia, campos);
+            return salvar(ambulancia);
+        });
+    }
+
+    public void excluir(Long id) {
+        sincronizacaoService.excluir(Exclusao.AMBULANCIA, repository, id);
+        posicaoService.remover(id);
+        indiceEspacialService.remover(id);
+        disponiveis.remover(id);
+    }
+
+    // Sem "de", compara com o status lido agora. 400 se a transicao nao for permitida,
+    // 409 se o status mudou antes do UPDATE
+    public Optional<Ambulancia> transicionar(Long id, StatusAmbulancia de, StatusAmbulancia para) {
+        if (para == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o status de destino (para)");
+        }
+        Optional<Ambulancia> atual = repository.findById(id);
+        if (atual.isEmpty()) {
+            return Optional.empty();
+        }
+        StatusAmbulancia origem = de != null ? de : atual.get().getStatus();
+        if (!origem.podeIrPara(para)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Transicao invalida: " + origem.getCodigo() + " -> " + para.getCodigo());
+        }
+        boolean reservada = origem == StatusAmbulancia.DISPONIVEL && disponiveis.reservar(id);
+        if (!trocarStatus(id, origem, para, reservada)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Status da ambulancia " + id + " nao e mais " + origem.getCodigo());
+        }
+        return Optional.of(aposTransicao(id, para));
+    }
+
+    // Ambulancia livre ha mais tempo passa a em_uso; vazio se nenhuma estiver disponivel
+    public Optional<Ambulancia> despacharProxima() {
+        Long id;
+        while ((id = disponiveis.reservarProximo()) != null) {
+            if (trocarStatus(id, StatusAmbulancia.DISPONIVEL, StatusAmbulancia.EM_USO, true)) {
+                return Optional.of(aposTransicao(id, StatusAmbulancia.EM_USO));
+            }
+            // O registro estava atrasado em relacao ao banco; segue para a proxima
+        }
+        return Optional.empty();
+    }
+
+    // Falha de banco devolve ao registro a reserva feita; 0 linhas nao (o banco diz que nao esta livre)
+    private boolean trocarStatus(Long id, StatusAmbulancia de, StatusAmbulancia para, boolean reservada) {
+        Integer alteradas;
+        try {
+            alteradas = transacao.execute(status -> repository.trocarStatus(id, de, para, Instant.now()));
+        } catch (RuntimeException e) {
+            if (reservada) {
+                disponiveis.liberar(id);
+            }
+            throw e;
+        }
+        return alteradas != null && alteradas == 1;
+    }
+
+    private Ambulancia aposTransicao(Long id, StatusAmbulancia para) {
+        if (para == StatusAmbulancia.DISPONIVEL) {
+            disponiveis.liberar(id);
+        } else {
+            disponiveis.remover(id);
+        }
+        Ambulancia ambulancia = repository.findById(id).orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ambulância não encontrada"));
+        indiceEspacialService.sincronizar(ambulancia);
+        return ambulancia;
+    }
+
+    private static ResponseStatusException statusSoPorTransicao() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "O status muda por PUT /ambulancias/{id}/status");
+    }
+}
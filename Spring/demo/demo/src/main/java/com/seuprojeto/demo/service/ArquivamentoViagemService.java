@@ -0,0 +1,79 @@
+package com.seuprojeto.demo.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.seuprojeto.demo.model.Viagem;
+import com.seuprojeto.demo.repository.ViagemArquivoRepository;
+import com.seuprojeto.demo.repository.ViagemRepository;
+
+/**
+ * Move viagens atendidas ha mais de viagens.arquivamento.dias dias para viagem_arquivo, em
+ * lotes de uma transacao cada (copia e remocao juntas, com as linhas do lote travadas). Viagens
+ * pendentes nunca sao arquivadas. No fim, particoes antigas que ficaram vazias sao removidas.
+ */
+@Service
+public class ArquivamentoViagemService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoViagemService.class);
+
+    private final ViagemRepository viagemRepository;
+    private final ViagemArquivoRepository viagemArquivoRepository;
+    private final ParticoesViagemService particoesViagemService;
+    private final TransactionTemplate transacao;
+    private final int dias;
+    private final int tamanhoLote;
+
+    public ArquivamentoViagemService(ViagemRepository viagemRepository,
+                                     ViagemArquivoRepository viagemArquivoRepository,
+                                     ParticoesViagemService particoesViagemService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${viagens.arquivamento.dias:180}") int dias,
+                                     @Value("${viagens.arquivamento.tamanho-lote:1000}") int tamanhoLote) {
+        this.viagemRepository = viagemRepository;
+        this.viagemArquivoRepository = viagemArquivoRepository;
+        this.particoesViagemService = particoesViagemService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.dias = dias;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(cron = "${viagens.arquivamento.execucao:0 30 4 * * *}")
+    public void arquivarAntigas() {
+        int arquivadas = arquivar(LocalDate.now().minusDays(dias));
+        if (arquivadas > 0) {
+            log.info("{} viagens atendidas arquivadas", arquivadas);
+        }
+    }
+
+    // Viagens atendidas com dataAtendimento anterior a limite; devolve quantas foram movidas
+    public int arquivar(LocalDate limite) {
+        int total = 0;
+        int movidas;
+        do {
+            Integer lote = transacao.execute(status -> {
+                List<Long> ids = viagemRepository.travarParaArquivar(limite, Limit.of(tamanhoLote)).stream()
+                        .map(Viagem::getId)
+                        .toList();
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                viagemArquivoRepository.copiar(ids, limite);
+                return viagemRepository.removerArquivadas(ids, limite);
+            });
+            movidas = lote != null ? lote : 0;
+            total += movidas;
+        } while (movidas == tamanhoLote);
+        particoesViagemService.removerVazias(limite);
+        return total;
+    }
+}
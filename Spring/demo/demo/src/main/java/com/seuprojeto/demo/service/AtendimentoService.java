@@ -0,0 +1,59 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.repository.ViagemRepository;
+
+/**
+ * Marca clientes como atendidos com UPDATEs em conjunto, sem carregar as entidades: um comando
+ * em cliente e um em viagem, que acompanha o status da viagem pendente. Os metodos devolvem
+ * quantos clientes mudaram (clientes ja atendidos nao contam).
+ */
+@Service
+public class AtendimentoService {
+
+    // Limita os parametros do IN por comando (o PostgreSQL aceita no maximo 32767 por statement)
+    private static final int IDS_POR_COMANDO = 1000;
+
+    private final ClienteRepository clienteRepository;
+    private final ViagemRepository viagemRepository;
+
+    public AtendimentoService(ClienteRepository clienteRepository, ViagemRepository viagemRepository) {
+        this.clienteRepository = clienteRepository;
+        this.viagemRepository = viagemRepository;
+    }
+
+    @Transactional
+    public int atender(Collection<Long> ids) {
+        List<Long> distintos = ids.stream().distinct().toList();
+        Instant agora = Instant.now();
+        int atualizados = 0;
+        for (int inicio = 0; inicio < distintos.size(); inicio += IDS_POR_COMANDO) {
+            List<Long> bloco = new ArrayList<>(distintos.subList(inicio, Math.min(inicio + IDS_POR_COMANDO, distintos.size())));
+            atualizados += clienteRepository.marcarAtendidos(bloco, agora);
+            viagemRepository.marcarAtendidas(bloco);
+        }
+        return atualizados;
+    }
+
+    // Fecha o dia inteiro (ou so um bairro); os clientes do dia vem das viagens pendentes da data
+    @Transactional
+    public int atenderDoDia(LocalDate data, String bairro) {
+        if (bairro == null || bairro.isBlank()) {
+            int atualizados = clienteRepository.marcarAtendidosDoDia(data, Instant.now());
+            viagemRepository.marcarAtendidasDoDia(data);
+            return atualizados;
+        }
+        int atualizados = clienteRepository.marcarAtendidosDoDiaNoBairro(data, bairro, Instant.now());
+        viagemRepository.marcarAtendidasDoDiaNoBairro(data, bairro);
+        return atualizados;
+    }
+}
@@ -0,0 +1,109 @@
+package com.seuprojeto.demo.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.util.IndiceTrigramas;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Busca aproximada de clientes por nome, cartao, telefone e bairro. Por padrao vai ao
+ * PostgreSQL (pg_trgm, indice GIN idx_cliente_busca_trgm); com clientes.busca.indice-memoria
+ * o indice de trigramas fica na aplicacao, carregado na subida e mantido pelas escritas.
+ */
+@Service
+public class BuscaClienteService {
+
+    private final ClienteRepository clienteRepository;
+    private final EntityManager entityManager;
+    private final boolean indiceMemoria;
+    private final double similaridadeMinima;
+    private final IndiceTrigramas indice = new IndiceTrigramas();
+    private volatile boolean carregado = false;
+
+    public BuscaClienteService(ClienteRepository clienteRepository,
+                               EntityManager entityManager,
+                               @Value("${clientes.busca.indice-memoria:false}") boolean indiceMemoria,
+                               @Value("${clientes.busca.similaridade-minima:0.4}") double similaridadeMinima) {
+        this.clienteRepository = clienteRepository;
+        this.entityManager = entityManager;
+        this.indiceMemoria = indiceMemoria;
+        this.similaridadeMinima = similaridadeMinima;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        if (!indiceMemoria) {
+            return;
+        }
+        indice.limpar();
+        try (Stream<Cliente> clientes = clienteRepository.streamTodos()) {
+            clientes.forEach(cliente -> {
+                indice.atualizar(cliente.getId(), texto(cliente));
+                entityManager.detach(cliente);
+            });
+        }
+        carregado = true;
+    }
+
+    // Mais parecidos primeiro; a ordenacao do Pageable e ignorada
+    public Page<Cliente> buscar(String consulta, Pageable pageable) {
+        String termo = consulta == null ? "" : consulta.trim();
+        if (termo.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (!indiceMemoria || !carregado) {
+            return clienteRepository.buscarPorSimilaridade(termo, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        }
+        IndiceTrigramas.Pagina pagina = indice.buscar(termo, similaridadeMinima, (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = pagina.itens().stream().map(IndiceTrigramas.Resultado::id).toList();
+        Map<Long, Cliente> porId = clienteRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        List<Cliente> ordenados = ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ordenados, pageable, pagina.total());
+    }
+
+    public void sincronizar(Cliente cliente) {
+        if (indiceMemoria && cliente.getId() != null) {
+            indice.atualizar(cliente.getId(), texto(cliente));
+        }
+    }
+
+    public void sincronizarTodos(Collection<Cliente> clientes) {
+        clientes.forEach(this::sincronizar);
+    }
+
+    public void remover(Long clienteId) {
+        if (indiceMemoria) {
+            indice.remover(clienteId);
+        }
+    }
+
+    // Mesmos campos da expressao do indice no banco; telefone so com digitos
+    private static String texto(Cliente cliente) {
+        return String.join(" ",
+            Objects.toString(cliente.getNome(), ""),
+            Objects.toString(cliente.getCartao(), ""),
+            Objects.toString(cliente.getTelefone(), "").replaceAll("[^0-9]", ""),
+            Objects.toString(cliente.getBairro(), ""));
+    }
+}
@@ -0,0 +1,246 @@
+package com.seuprojeto.demo.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.ResultadoImportacao;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.util.Csv;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Importacao e exportacao de clientes em CSV sem carregar o arquivo nem a tabela em memoria.
+ * A importacao grava em transacoes de tamanhoLote linhas (o Hibernate agrupa os INSERTs em
+ * lotes JDBC) e limpa o contexto de persistencia a cada transacao; a exportacao percorre um
+ * cursor e desanexa cada cliente logo depois de escreve-lo.
+ */
+@Service
+public class ClienteCsvService {
+
+    private static final int MAX_ERROS = 100;
+
+    private record Coluna(String nome, Function<Cliente, Object> leitura, BiConsumer<Cliente, String> escrita) {}
+
+    private static final List<Coluna> COLUNAS = List.of(
+            new Coluna("id", Cliente::getId, null),
+            new Coluna("cartao", Cliente::getCartao, Cliente::setCartao),
+            new Coluna("tipo", Cliente::getTipo, Cliente::setTipo),
+            new Coluna("horarioVan", Cliente::getHorarioVan, Cliente::setHorarioVan),
+            new Coluna("dataNascimento", Cliente::getDataNascimento, (c, v) -> c.setDataNascimento(data(v))),
+            new Coluna("dataAtendimento", Cliente::getDataAtendimento, (c, v) -> c.setDataAtendimento(data(v))),
+            new Coluna("nome", Cliente::getNome, Cliente::setNome),
+            new Coluna("endereco", Cliente::getEndereco, Cliente::setEndereco),
+            new Coluna("bairro", Cliente::getBairro, Cliente::setBairro),
+            new Coluna("telefone", Cliente::getTelefone, Cliente::setTelefone),
+            new Coluna("destino", Cliente::getDestino, Cliente::setDestino),
+            new Coluna("horarioAtendimento", Cliente::getHorarioAtendimento, Cliente::setHorarioAtendimento),
+            new Coluna("vagas", Cliente::getVagas, (c, v) -> c.setVagas(vagas(v))),
+            new Coluna("tratamento", Cliente::getTratamento, Cliente::setTratamento),
+            new Coluna("cartaoAcompanhante", Cliente::getCartaoAcompanhante, Cliente::setCartaoAcompanhante),
+            new Coluna("nomeAcompanhante", Cliente::getNomeAcompanhante, Cliente::setNomeAcompanhante),
+            new Coluna("dataNascimentoAcompanhante", Cliente::getDataNascimentoAcompanhante, (c, v) -> c.setDataNascimentoAcompanhante(data(v))),
+            new Coluna("atendido", Cliente::isAtendido, (c, v) -> c.setAtendido(booleano(v))),
+            new Coluna("prioridadeSaude", Cliente::getPrioridadeSaude, Cliente::setPrioridadeSaude),
+            new Coluna("inovacao", Cliente::getInovacao, Cliente::setInovacao),
+            new Coluna("grupoVulneravel", Cliente::getGrupoVulneravel, Cliente::setGrupoVulneravel),
+            new Coluna("transporteSustentavel", Cliente::getTransporteSustentavel, Cliente::setTransporteSustentavel));
+
+    private final ClienteRepository clienteRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate transacaoLeitura;
+    private final BuscaClienteService buscaClienteService;
+    private final ViagemService viagemService;
+    private final int tamanhoLote;
+
+    public ClienteCsvService(ClienteRepository clienteRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             BuscaClienteService buscaClienteService,
+                             ViagemService viagemService,
+                             @Value("${clientes.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.clienteRepository = clienteRepository;
+        this.entityManager = entityManager;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.buscaClienteService = buscaClienteService;
+        this.viagemService = viagemService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // Linhas invalidas sao rejeitadas individualmente; as validas ja gravadas permanecem
+    public ResultadoImportacao importar(InputStream entrada) throws IOException {
+        Csv.Leitor leitor = new Csv.Leitor(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+        List<String> cabecalho = leitor.proximo();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        Coluna[] colunas = mapearCabecalho(cabecalho);
+
+        ResultadoImportacao resultado = new ResultadoImportacao();
+        List<Cliente> lote = new ArrayList<>(tamanhoLote);
+        List<String> registro;
+        while ((registro = leitor.proximo()) != null) {
+            resultado.setLinhas(resultado.getLinhas() + 1);
+            try {
+                lote.add(converter(colunas, registro));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                rejeitar(resultado, leitor.getLinha(), e.getMessage());
+                continue;
+            }
+            if (lote.size() == tamanhoLote) {
+                gravar(lote, resultado);
+            }
+        }
+        gravar(lote, resultado);
+        return resultado;
+    }
+
+    public void exportar(OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        StringBuilder linha = new StringBuilder();
+        for (Coluna coluna : COLUNAS) {
+            linha.append(linha.isEmpty() ? "" : ",").append(coluna.nome());
+        }
+        writer.write(linha.append("\r\n").toString());
+
+        try {
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<Cliente> clientes = clienteRepository.streamTodos()) {
+                    Iterator<Cliente> it = clientes.iterator();
+                    while (it.hasNext()) {
+                        Cliente cliente = it.next();
+                        writer.write(linhaCsv(cliente));
+                        entityManager.detach(cliente);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void gravar(List<Cliente> lote, ResultadoImportacao resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        transacao.executeWithoutResult(status -> {
+            clienteRepository.saveAll(lote);
+            viagemService.registrarNovos(lote);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        buscaClienteService.sincronizarTodos(lote);
+        resultado.setImportados(resultado.getImportados() + lote.size());
+        lote.clear();
+    }
+
+    private static Coluna[] mapearCabecalho(List<String> cabecalho) {
+        Map<String, Coluna> porNome = new HashMap<>();
+        for (Coluna coluna : COLUNAS) {
+            porNome.put(coluna.nome().toLowerCase(Locale.ROOT), coluna);
+        }
+        Coluna[] colunas = new Coluna[cabecalho.size()];
+        boolean temNome = false;
+        for (int i = 0; i < cabecalho.size(); i++) {
+            String nome = cabecalho.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            colunas[i] = porNome.get(nome);
+            temNome |= "nome".equals(nome);
+        }
+        if (!temNome) {
+            throw new IllegalArgumentException("Cabecalho deve conter a coluna nome");
+        }
+        return colunas;
+    }
+
+    // Colunas desconhecidas e a coluna id sao ignoradas: o id sempre vem da sequencia
+    private static Cliente converter(Coluna[] colunas, List<String> registro) {
+        if (registro.size() > colunas.length) {
+            throw new IllegalArgumentException("Mais colunas que o cabecalho");
+        }
+        Cliente cliente = new Cliente();
+        for (int i = 0; i < registro.size(); i++) {
+            String valor = registro.get(i).trim();
+            if (colunas[i] != null && colunas[i].escrita() != null && !valor.isEmpty()) {
+                colunas[i].escrita().accept(cliente, valor);
+            }
+        }
+        if (cliente.getNome() == null) {
+            throw new IllegalArgumentException("nome e obrigatorio");
+        }
+        return cliente;
+    }
+
+    private static String linhaCsv(Cliente cliente) {
+        StringBuilder linha = new StringBuilder(256);
+        for (int i = 0; i < COLUNAS.size(); i++) {
+            if (i > 0) {
+                linha.append(',');
+            }
+            linha.append(Csv.escapar(COLUNAS.get(i).leitura().apply(cliente)));
+        }
+        return linha.append("\r\n").toString();
+    }
+
+    private static void rejeitar(ResultadoImportacao resultado, long linha, String motivo) {
+        resultado.setRejeitados(resultado.getRejeitados() + 1);
+        if (resultado.getErros().size() < MAX_ERROS) {
+            resultado.getErros().add("linha " + linha + ": " + motivo);
+        }
+    }
+
+    private static LocalDate data(String valor) {
+        return LocalDate.parse(valor);
+    }
+
+    private static Integer vagas(String valor) {
+        int vagas;
+        try {
+            vagas = Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("vagas invalido: " + valor);
+        }
+        if (vagas < 1) {
+            throw new IllegalArgumentException("vagas deve ser maior que zero");
+        }
+        return vagas;
+    }
+
+    private static boolean booleano(String valor) {
+        return switch (valor.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "sim" -> true;
+            case "false", "0", "nao", "não" -> false;
+            default -> throw new IllegalArgumentException("atendido invalido: " + valor);
+        };
+    }
+}
@@ -0,0 +1,220 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.EstadoTabela;
+import com.seuprojeto.demo.model.Exclusao;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.util.AposCommit;
+import com.seuprojeto.demo.util.AtualizacaoParcial;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Cadastro de clientes. Cada metodo e uma transacao curta: com spring.jpa.open-in-view=false a
+ * conexao volta ao pool no fim do metodo e o controller serializa entidades ja desanexadas
+ * (Cliente nao tem associacoes lazy).
+ */
+@Service
+public class ClienteService {
+
+    private final ClienteRepository repository;
+    private final SincronizacaoService sincronizacaoService;
+    private final BuscaClienteService buscaClienteService;
+    private final ViagemService viagemService;
+    private final EntityManager entityManager;
+
+    public ClienteService(ClienteRepository repository, SincronizacaoService sincronizacaoService,
+                          BuscaClienteService buscaClienteService, ViagemService viagemService,
+                          EntityManager entityManager) {
+        this.repository = repository;
+        this.sincronizacaoService = sincronizacaoService;
+        this.buscaClienteService = buscaClienteService;
+        this.viagemService = viagemService;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public EstadoTabela estado() {
+        return repository.estado();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Cliente> listar(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Cliente> listarAposId(Long afterId, int limite) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limite));
+    }
+
+    // tipo: ClienteAgenda, ClienteResumo ou a propria entidade
+    @Transactional(readOnly = true)
+    public <T> Page<T> listar(Pageable pageable, Class<T> tipo) {
+        return repository.findAllBy(pageable, tipo);
+    }
+
+    @Transactional(readOnly = true)
+    public <T> List<T> listarAposId(Long afterId, int limite, Class<T> tipo) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limite), tipo);
+    }
+
+    // ?fields=: SELECT so das colunas pedidas (o id sempre vem), uma linha por mapa campo -> valor
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listarCampos(List<String> campos, Pageable pageable) {
+        List<Map<String, Object>> linhas = selecionar(campos, null, pageable);
+        return PageableExecutionUtils.getPage(linhas, pageable, repository::count);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listarCamposAposId(List<String> campos, Long afterId, int limite) {
+        return selecionar(campos, afterId, Pageable.ofSize(limite));
+    }
+
+    public SincronizacaoDTO<Cliente> alteradosDesde(Instant since) {
+        return sincronizacaoService.desde(Exclusao.CLIENTE, since, repository::findByAtualizadoEmAfterOrderByIdAsc);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Cliente> buscar(Long id) {
+        return repository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existe(Long id) {
+        return repository.existsById(id);
+    }
+
+    @Transactional
+    public Cliente salvar(Cliente cliente) {
+        return gravar(cliente);
+    }
+
+    @Transactional
+    public Optional<Cliente> atualizar(Long id, Cliente dados, Long versaoEsperada) {
+        return repository.findById(id).map(cliente -> {
+            AtualizacaoParcial.verificarVersao(Cliente.class, id, versaoEsperada, cliente.getVersao());
+            cliente.setNome(dados.getNome());
+            cliente.setTelefone(dados.getTelefone());
+            cliente.setEndereco(dados.getEndereco());
+            cliente.setDataNascimento(dados.getDataNascimento());
+            cliente.setCartao(dados.getCartao());
+            cliente.setTipo(dados.getTipo());
+            cliente.setHorarioVan(dados.getHorarioVan());
+            cliente.setDataAtendimento(dados.getDataAtendimento());
+            cliente.setBairro(dados.getBairro());
+            cliente.setDestino(dados.getDestino());
+            cliente.setHorarioAtendimento(dados.getHorarioAtendimento());
+            cliente.setVagas(dados.getVagas());
+            cliente.setTratamento(dados.getTratamento());
+            cliente.setCartaoAcompanhante(dados.getCartaoAcompanhante());
+            cliente.setNomeAcompanhante(dados.getNomeAcompanhante());
+            cliente.setDataNascimentoAcompanhante(dados.getDataNascimentoAcompanhante());
+            cliente.setAtendido(dados.isAtendido());
+            cliente.setPrioridadeSaude(dados.getPrioridadeSaude());
+            cliente.setInovacao(dados.getInovacao());
+            cliente.setGrupoVulneravel(dados.getGrupoVulneravel());
+            cliente.setTransporteSustentavel(dados.getTransporteSustentavel());
+            return gravar(cliente);
+        });
+    }
+
+    @Transactional
+    public Optional<Cliente> atualizarParcial(Long id, Map<String, Object> campos, Long versaoEsperada) {
+        return repository.findById(id).map(cliente -> {
+            AtualizacaoParcial.verificarVersao(Cliente.class, id, versaoEsperada, cliente.getVersao());
+            AtualizacaoParcial.aplicar(cliente, campos);
+            return gravar(cliente);
+        });
+    }
+
+    // false se o cliente nao existe
+    @Transactional
+    public boolean excluir(Long id) {
+        if (!repository.existsById(id)) {
+            return false;
+        }
+        sincronizacaoService.excluir(Exclusao.CLIENTE, repository, id);
+        viagemService.removerDoCliente(id);
+        AposCommit.executar(() -> buscaClienteService.remover(id));
+        return true;
+    }
+
+    private List<Map<String, Object>> selecionar(List<String> campos, Long afterId, Pageable pageable) {
+        Set<String> existentes = new LinkedHashSet<>();
+        entityManager.getMetamodel().entity(Cliente.class).getSingularAttributes()
+                .forEach(atributo -> existentes.add(atributo.getName()));
+        List<String> colunas = validarCampos(campos, existentes);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<Cliente> cliente = consulta.from(Cliente.class);
+        consulta.multiselect(colunas.stream().<Selection<?>>map(coluna -> cliente.get(coluna).alias(coluna)).toList());
+        if (afterId != null) {
+            consulta.where(cb.greaterThan(cliente.<Long>get("id"), afterId));
+            consulta.orderBy(cb.asc(cliente.get("id")));
+        } else {
+            consulta.orderBy(pageable.getSort().stream().map(ordem -> {
+                if (!existentes.contains(ordem.getProperty())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ordenacao desconhecida: " + ordem.getProperty());
+                }
+                return ordem.isAscending() ? cb.asc(cliente.get(ordem.getProperty())) : cb.desc(cliente.get(ordem.getProperty()));
+            }).toList());
+        }
+        List<Tuple> tuplas = entityManager.createQuery(consulta)
+                .setFirstResult((int) (afterId != null ? 0 : pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return tuplas.stream().map(tupla -> {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            colunas.forEach(coluna -> linha.put(coluna, tupla.get(coluna)));
+            return linha;
+        }).toList();
+    }
+
+    // Somente atributos simples de Cliente; o id vai na frente para o cursor e para o cliente da API
+    private static List<String> validarCampos(List<String> campos, Set<String> existentes) {
+        Set<String> colunas = new LinkedHashSet<>();
+        colunas.add("id");
+        for (String campo : campos) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!existentes.contains(nome)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo desconhecido: " + nome);
+            }
+            colunas.add(nome);
+        }
+        return List.copyOf(colunas);
+    }
+
+    private Cliente gravar(Cliente cliente) {
+        Cliente salvo = repository.save(cliente);
+        viagemService.registrar(salvo);
+        AposCommit.executar(() -> buscaClienteService.sincronizar(salvo));
+        return salvo;
+    }
+}
@@ -0,0 +1,85 @@
+package com.seuprojeto.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.ContagemPorGrupo;
+import com.seuprojeto.demo.model.EstatisticasDTO;
+import com.seuprojeto.demo.model.ResumoAtendimento;
+import com.seuprojeto.demo.repository.AmbulanciaRepository;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.repository.MotoristaRepository;
+import com.seuprojeto.demo.repository.UsuarioRepository;
+
+@Service
+public class EstatisticaService {
+
+    private static final String NAO_INFORMADO = "nao_informado";
+
+    private final ClienteRepository clienteRepository;
+    private final AmbulanciaRepository ambulanciaRepository;
+    private final MotoristaRepository motoristaRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    public EstatisticaService(ClienteRepository clienteRepository,
+                              AmbulanciaRepository ambulanciaRepository,
+                              MotoristaRepository motoristaRepository,
+                              UsuarioRepository usuarioRepository) {
+        this.clienteRepository = clienteRepository;
+        this.ambulanciaRepository = ambulanciaRepository;
+        this.motoristaRepository = motoristaRepository;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    // Todas as contagens sao agregadas no banco; nenhuma entidade e carregada
+    @Transactional(readOnly = true)
+    public EstatisticasDTO gerar() {
+        EstatisticasDTO estatisticas = new EstatisticasDTO();
+
+        ResumoAtendimento resumo = clienteRepository.resumirAtendimentos();
+        long total = valor(resumo.getTotal());
+        long atendidos = valor(resumo.getAtendidos());
+        estatisticas.setTotalClientes(total);
+        estatisticas.setClientesAtendidos(atendidos);
+        estatisticas.setClientesPendentes(total - atendidos);
+        estatisticas.setClientesPorPrioridadeSaude(paraMapa(clienteRepository.contarPorPrioridadeSaude()));
+        estatisticas.setClientesPorGrupoVulneravel(paraMapa(clienteRepository.contarPorGrupoVulneravel()));
+        estatisticas.setClientesPorBairro(paraMapa(clienteRepository.contarPorBairro()));
+
+        estatisticas.setTotalMotoristas(motoristaRepository.count());
+        estatisticas.setTotalAmbulancias(ambulanciaRepository.count());
+        estatisticas.setAmbulanciasPorStatus(paraMapa(ambulanciaRepository.contarPorStatus()));
+
+        estatisticas.setTotalUsuarios(usuarioRepository.count());
+        estatisticas.setUsuariosPorRole(paraMapa(usuarioRepository.contarPorRole()));
+        return estatisticas;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Long> atendimentosClientes() {
+        ResumoAtendimento resumo = clienteRepository.resumirAtendimentos();
+        long total = valor(resumo.getTotal());
+        long atendidos = valor(resumo.getAtendidos());
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        mapa.put("Atendidos", atendidos);
+        mapa.put("Pendentes", total - atendidos);
+        return mapa;
+    }
+
+    private static Map<String, Long> paraMapa(List<ContagemPorGrupo> contagens) {
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        for (ContagemPorGrupo contagem : contagens) {
+            String chave = contagem.getChave() != null ? contagem.getChave() : NAO_INFORMADO;
+            mapa.merge(chave, valor(contagem.getTotal()), Long::sum);
+        }
+        return mapa;
+    }
+
+    private static long valor(Long numero) {
+        return numero != null ? numero : 0L;
+    }
+}
@@ -0,0 +1,93 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.config.CacheConfig;
+import com.seuprojeto.demo.model.Exclusao;
+import com.seuprojeto.demo.model.Hospital;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.repository.HospitalRepository;
+import com.seuprojeto.demo.util.AposCommit;
+
+@Service
+public class HospitalService {
+
+    private final HospitalRepository repository;
+    private final SincronizacaoService sincronizacaoService;
+    private final IndiceEspecialidadesService indiceEspecialidades;
+
+    public HospitalService(HospitalRepository repository, SincronizacaoService sincronizacaoService,
+                           IndiceEspecialidadesService indiceEspecialidades) {
+        this.repository = repository;
+        this.sincronizacaoService = sincronizacaoService;
+        this.indiceEspecialidades = indiceEspecialidades;
+    }
+
+    // Lista completa ordenada por id; as listagens paginadas por id sao fatiadas dela
+    @Cacheable(cacheNames = CacheConfig.HOSPITAIS, key = CacheConfig.TODOS)
+    @Transactional(readOnly = true)
+    public List<Hospital> listarTodos() {
+        return List.copyOf(repository.findAll(Sort.by("id")));
+    }
+
+    // Ordenacoes diferentes de id vao ao banco
+    @Transactional(readOnly = true)
+    public Page<Hospital> listar(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    public SincronizacaoDTO<Hospital> alteradosDesde(Instant since) {
+        return sincronizacaoService.desde(Exclusao.HOSPITAL, since, repository::findByAtualizadoEmAfterOrderByIdAsc);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.HOSPITAL, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<Hospital> buscar(Long id) {
+        return repository.findById(id);
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.HOSPITAL, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.HOSPITAIS, allEntries = true))
+    public Hospital salvar(Hospital hospital) {
+        Hospital salvo = repository.save(hospital);
+        AposCommit.executar(() -> indiceEspecialidades.sincronizar(salvo));
+        return salvo;
+    }
+
+    // Parte da linha do banco, nunca da instancia em cache
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.HOSPITAL, key = "#id", unless = "#result == null"),
+            evict = @CacheEvict(cacheNames = CacheConfig.HOSPITAIS, allEntries = true))
+    @Transactional
+    public Optional<Hospital> atualizar(Long id, Hospital hospitalAtualizado) {
+        return repository.findById(id).map(hospital -> {
+            hospital.setNome(hospitalAtualizado.getNome());
+            hospital.setEndereco(hospitalAtualizado.getEndereco());
+            hospital.setEspecialidades(hospitalAtualizado.getEspecialidades());
+            Hospital salvo = repository.save(hospital);
+            AposCommit.executar(() -> indiceEspecialidades.sincronizar(salvo));
+            return salvo;
+        });
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.HOSPITAL, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.HOSPITAIS, allEntries = true) })
+    public void excluir(Long id) {
+        sincronizacaoService.excluir(Exclusao.HOSPITAL, repository, id);
+        AposCommit.executar(() -> indiceEspecialidades.remover(id));
+    }
+}
@@ -0,0 +1,97 @@
+package com.seuprojeto.demo.service;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.AmbulanciaProximaDTO;
+import com.seuprojeto.demo.model.StatusAmbulancia;
+import com.seuprojeto.demo.repository.AmbulanciaRepository;
+import com.seuprojeto.demo.util.GradeEspacial;
+
+/**
+ * Mantem em memoria as ambulancias disponiveis com localizacao conhecida e responde
+ * consultas de vizinhos mais proximos. A consulta no banco (bounding box) fica como
+ * alternativa para quando o indice ainda nao foi carregado.
+ */
+@Service
+public class IndiceEspacialService {
+
+    // Raio usado quando a consulta nao informa um; vale para o indice e para o banco
+    public static final double RAIO_PADRAO_KM = 10.0;
+
+    private static final double KM_POR_GRAU_LATITUDE = 111.32;
+
+    private final AmbulanciaRepository ambulanciaRepository;
+    private final GradeEspacial grade;
+    private volatile boolean carregado = false;
+
+    public IndiceEspacialService(AmbulanciaRepository ambulanciaRepository,
+                                 @Value("${ambulancia.indice-espacial.tamanho-celula:0.01}") double tamanhoCelula) {
+        this.ambulanciaRepository = ambulanciaRepository;
+        this.grade = new GradeEspacial(tamanhoCelula);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        grade.limpar();
+        ambulanciaRepository.findAll().forEach(this::sincronizar);
+        carregado = true;
+    }
+
+    // Chamado em toda escrita de ambulancia: entra no indice apenas se disponivel e localizada
+    public void sincronizar(Ambulancia ambulancia) {
+        if (ambulancia.getId() == null) {
+            return;
+        }
+        if (ambulancia.getStatus() == StatusAmbulancia.DISPONIVEL
+                && ambulancia.getLatitude() != null && ambulancia.getLongitude() != null) {
+            grade.atualizar(ambulancia.getId(), ambulancia.getLatitude(), ambulancia.getLongitude());
+        } else {
+            grade.remover(ambulancia.getId());
+        }
+    }
+
+    public void moverSeDisponivel(Long ambulanciaId, double latitude, double longitude) {
+        grade.atualizarSePresente(ambulanciaId, latitude, longitude);
+    }
+
+    public void remover(Long ambulanciaId) {
+        grade.remover(ambulanciaId);
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    public List<AmbulanciaProximaDTO> maisProximas(double latitude, double longitude, int k, double raioKm) {
+        return grade.maisProximos(latitude, longitude, k, raioKm).stream()
+            .map(v -> new AmbulanciaProximaDTO(v.id(), v.latitude(), v.longitude(), v.distanciaKm()))
+            .toList();
+    }
+
+    // Alternativa no banco: filtra pela caixa que contem o raio (indice em latitude/longitude) e ordena em memoria
+    @Transactional(readOnly = true)
+    public List<AmbulanciaProximaDTO> maisProximasNoBanco(double latitude, double longitude, int k, double raioKm) {
+        double deltaLatitude = raioKm / KM_POR_GRAU_LATITUDE;
+        double cosLatitude = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        double deltaLongitude = raioKm / (KM_POR_GRAU_LATITUDE * cosLatitude);
+
+        return ambulanciaRepository.findDisponiveisNaCaixa(StatusAmbulancia.DISPONIVEL,
+                latitude - deltaLatitude, latitude + deltaLatitude,
+                longitude - deltaLongitude, longitude + deltaLongitude).stream()
+            .map(a -> new AmbulanciaProximaDTO(a.getId(), a.getLatitude(), a.getLongitude(),
+                GradeEspacial.distanciaKm(latitude, longitude, a.getLatitude(), a.getLongitude())))
+            .filter(a -> a.getDistanciaKm() <= raioKm)
+            .sorted(Comparator.comparingDouble(AmbulanciaProximaDTO::getDistanciaKm))
+            .limit(k)
+            .toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.seuprojeto.demo.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.Hospital;
+import com.seuprojeto.demo.model.HospitalSugeridoDTO;
+import com.seuprojeto.demo.model.SugestaoHospitalDTO;
+import com.seuprojeto.demo.model.ViagemDoDia;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.repository.HospitalRepository;
+import com.seuprojeto.demo.repository.ViagemRepository;
+import com.seuprojeto.demo.util.IndiceInvertido;
+
+/**
+ * Indice em memoria especialidade -> hospitais, carregado na subida e mantido pelas escritas
+ * do HospitalService. Responde "quais hospitais atendem este tratamento" sem varrer a tabela.
+ */
+@Service
+public class IndiceEspecialidadesService {
+
+    private final HospitalRepository hospitalRepository;
+    private final ClienteRepository clienteRepository;
+    private final ViagemRepository viagemRepository;
+    private final IndiceInvertido indice = new IndiceInvertido();
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+
+    public IndiceEspecialidadesService(HospitalRepository hospitalRepository, ClienteRepository clienteRepository,
+                                       ViagemRepository viagemRepository) {
+        this.hospitalRepository = hospitalRepository;
+        this.clienteRepository = clienteRepository;
+        this.viagemRepository = viagemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        indice.limpar();
+        nomes.clear();
+        hospitalRepository.findAll().forEach(this::sincronizar);
+    }
+
+    public void sincronizar(Hospital hospital) {
+        if (hospital.getId() == null) {
+            return;
+        }
+        nomes.put(hospital.getId(), hospital.getNome() == null ? "" : hospital.getNome());
+        indice.atualizar(hospital.getId(), hospital.getEspecialidades());
+    }
+
+    public void remover(Long hospitalId) {
+        indice.remover(hospitalId);
+        nomes.remove(hospitalId);
+    }
+
+    public List<HospitalSugeridoDTO> hospitaisPara(String tratamento, int limite) {
+        return indice.buscar(tratamento, limite).stream()
+            .map(r -> new HospitalSugeridoDTO(r.id(), nomes.get(r.id()), r.pontos()))
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SugestaoHospitalDTO> sugerirParaCliente(Long clienteId, int limite) {
+        return clienteRepository.findById(clienteId)
+            .map(cliente -> sugestao(cliente, hospitaisPara(cliente.getTratamento(), limite)));
+    }
+
+    // Uma consulta para o dia inteiro (viagens da data, destino de cada viagem); tratamentos
+    // repetidos sao buscados no indice uma vez so
+    @Transactional(readOnly = true)
+    public List<SugestaoHospitalDTO> sugerirParaDia(LocalDate data, int limite) {
+        Map<String, List<HospitalSugeridoDTO>> porTratamento = new HashMap<>();
+        return viagemRepository.findDoDia(data).stream()
+            .map(viagem -> sugestao(viagem, porTratamento.computeIfAbsent(
+                    viagem.getTratamento() == null ? "" : IndiceInvertido.normalizar(viagem.getTratamento()),
+                    tratamento -> hospitaisPara(tratamento, limite))))
+            .toList();
+    }
+
+    private static SugestaoHospitalDTO sugestao(Cliente cliente, List<HospitalSugeridoDTO> hospitais) {
+        return new SugestaoHospitalDTO(cliente.getId(), cliente.getNome(), cliente.getTratamento(), cliente.getDestino(), hospitais);
+    }
+
+    private static SugestaoHospitalDTO sugestao(ViagemDoDia viagem, List<HospitalSugeridoDTO> hospitais) {
+        return new SugestaoHospitalDTO(viagem.getClienteId(), viagem.getNome(), viagem.getTratamento(), viagem.getDestino(), hospitais);
+    }
+}
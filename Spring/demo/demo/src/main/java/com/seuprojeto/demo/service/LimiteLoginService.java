@@ -0,0 +1,48 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.seuprojeto.demo.util.LimitadorTaxa;
+import com.seuprojeto.demo.util.LimiteExcedidoException;
+
+/**
+ * Limita tentativas de login por IP de origem e por email, antes de qualquer hash de senha.
+ * Cada tentativa consome uma ficha, com sucesso ou nao.
+ */
+@Service
+public class LimiteLoginService {
+
+    private final LimitadorTaxa porEmail;
+    private final LimitadorTaxa porIp;
+
+    public LimiteLoginService(@Value("${seguranca.login.por-email.capacidade:5}") int capacidadeEmail,
+                              @Value("${seguranca.login.por-email.periodo:1m}") Duration periodoEmail,
+                              @Value("${seguranca.login.por-ip.capacidade:30}") int capacidadeIp,
+                              @Value("${seguranca.login.por-ip.periodo:1m}") Duration periodoIp,
+                              @Value("${seguranca.login.faixas:16384}") int faixas) {
+        this.porEmail = new LimitadorTaxa(capacidadeEmail, periodoEmail, faixas);
+        this.porIp = new LimitadorTaxa(capacidadeIp, periodoIp, faixas);
+    }
+
+    public void verificarIp(String ip) {
+        Duration espera = porIp.tentar(ip);
+        if (!espera.isZero()) {
+            throw new LimiteExcedidoException("Muitas tentativas deste endereco; aguarde", espera);
+        }
+    }
+
+    public void verificarLogin(String ip, String email) {
+        verificarIp(ip);
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        Duration espera = porEmail.tentar(email.trim().toLowerCase(Locale.ROOT));
+        if (!espera.isZero()) {
+            throw new LimiteExcedidoException("Muitas tentativas para esta conta; aguarde", espera);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.config.CacheConfig;
+import com.seuprojeto.demo.model.Exclusao;
+import com.seuprojeto.demo.model.Motorista;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.repository.MotoristaRepository;
+import com.seuprojeto.demo.util.AtualizacaoParcial;
+
+@Service
+public class MotoristaService {
+
+    private final MotoristaRepository repository;
+    private final SincronizacaoService sincronizacaoService;
+
+    public MotoristaService(MotoristaRepository repository, SincronizacaoService sincronizacaoService) {
+        this.repository = repository;
+        this.sincronizacaoService = sincronizacaoService;
+    }
+
+    // Lista completa ordenada por id; as listagens paginadas por id sao fatiadas dela
+    @Cacheable(cacheNames = CacheConfig.MOTORISTAS, key = CacheConfig.TODOS)
+    @Transactional(readOnly = true)
+    public List<Motorista> listarTodos() {
+        return List.copyOf(repository.findAll(Sort.by("id")));
+    }
+
+    // Ordenacoes diferentes de id vao ao banco
+    @Transactional(readOnly = true)
+    public Page<Motorista> listar(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    public SincronizacaoDTO<Motorista> alteradosDesde(Instant since) {
+        return sincronizacaoService.desde(Exclusao.MOTORISTA, since, repository::findByAtualizadoEmAfterOrderByIdAsc);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.MOTORISTA, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<Motorista> buscar(Long id) {
+        return repository.findById(id);
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.MOTORISTA, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.MOTORISTAS, allEntries = true))
+    public Motorista salvar(Motorista motorista) {
+        return repository.save(motorista);
+    }
+
+    // Parte da linha do banco, nunca da instancia em cache
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.MOTORISTA, key = "#id", unless = "#result == null"),
+            evict = @CacheEvict(cacheNames = CacheConfig.MOTORISTAS, allEntries = true))
+    @Transactional
+    public Optional<Motorista> atualizar(Long id, Motorista motoristaAtualizado, Long versaoEsperada) {
+        return repository.findById(id).map(motorista -> {
+            AtualizacaoParcial.verificarVersao(Motorista.class, id, versaoEsperada, motorista.getVersao());
+            motorista.setNome(motoristaAtualizado.getNome());
+            motorista.setCarteiraHabilitacao(motoristaAtualizado.getCarteiraHabilitacao());
+            motorista.setTelefone(motoristaAtualizado.getTelefone());
+            motorista.setRegiaoAtuacao(motoristaAtualizado.getRegiaoAtuacao());
+            return repository.save(motorista);
+        });
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.MOTORISTA, key = "#id", unless = "#result == null"),
+            evict = @CacheEvict(cacheNames = CacheConfig.MOTORISTAS, allEntries = true))
+    @Transactional
+    public Optional<Motorista> atualizarParcial(Long id, Map<String, Object> campos, Long versaoEsperada) {
+        return repository.findById(id).map(motorista -> {
+            AtualizacaoParcial.verificarVersao(Motorista.class, id, versaoEsperada, motorista.getVersao());
+            AtualizacaoParcial.aplicar(motorista, campos);
+            return repository.save(motorista);
+        });
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOTORISTA, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.MOTORISTAS, allEntries = true) })
+    public void excluir(Long id) {
+        sincronizacaoService.excluir(Exclusao.MOTORISTA, repository, id);
+    }
+}
@@ -0,0 +1,141 @@
+package com.seuprojeto.demo.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Particionamento mensal da tabela viagem por data_atendimento (somente PostgreSQL; no H2 dos
+ * testes a tabela continua comum). O Hibernate cria viagem como tabela simples; na primeira
+ * subida ela e convertida em tabela particionada com as linhas existentes. Particoes dos
+ * proximos meses sao criadas com antecedencia; datas fora delas caem em viagem_padrao e sao
+ * movidas quando a particao do mes e criada.
+ */
+@Service
+public class ParticoesViagemService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticoesViagemService.class);
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String PADRAO = "viagem_padrao";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacao;
+    private final int mesesFuturos;
+    private volatile boolean ativo = false;
+
+    public ParticoesViagemService(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                                  @Value("${viagens.particoes.meses-futuros:3}") int mesesFuturos) {
+        this.jdbc = jdbc;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.mesesFuturos = mesesFuturos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preparar() {
+        String banco = jdbc.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        ativo = "PostgreSQL".equals(banco);
+        if (!ativo) {
+            return;
+        }
+        if (!particionada()) {
+            transacao.executeWithoutResult(status -> converter());
+        }
+        criarParticoesFuturas();
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    @Scheduled(cron = "${viagens.particoes.criacao:0 0 3 * * *}")
+    public void criarParticoesFuturas() {
+        if (!ativo) {
+            return;
+        }
+        YearMonth atual = YearMonth.now();
+        for (int i = 0; i <= mesesFuturos; i++) {
+            YearMonth mes = atual.plusMonths(i);
+            transacao.executeWithoutResult(status -> criarParticao("viagem", mes));
+        }
+    }
+
+    // Particoes inteiramente anteriores a limite que ficaram vazias depois do arquivamento
+    public int removerVazias(LocalDate limite) {
+        if (!ativo) {
+            return 0;
+        }
+        List<String> particoes = jdbc.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass('viagem') AND c.relname ~ '^viagem_[0-9]{4}_[0-9]{2}$'",
+                String.class);
+        int removidas = 0;
+        for (String particao : particoes) {
+            YearMonth mes = YearMonth.parse(particao.substring("viagem_".length()), SUFIXO);
+            if (mes.plusMonths(1).atDay(1).isAfter(limite)) {
+                continue;
+            }
+            Boolean removida = transacao.execute(status -> {
+                jdbc.execute("LOCK TABLE " + particao + " IN ACCESS EXCLUSIVE MODE");
+                if (Boolean.TRUE.equals(jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM " + particao + ")", Boolean.class))) {
+                    return false;
+                }
+                jdbc.execute("DROP TABLE " + particao);
+                return true;
+            });
+            if (Boolean.TRUE.equals(removida)) {
+                removidas++;
+            }
+        }
+        return removidas;
+    }
+
+    private boolean particionada() {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('viagem'))", Boolean.class));
+    }
+
+    // A chave primaria de uma tabela particionada precisa incluir a coluna de particionamento
+    private void converter() {
+        jdbc.execute("CREATE TABLE viagem_particionada (LIKE viagem INCLUDING DEFAULTS) PARTITION BY RANGE (data_atendimento)");
+        jdbc.execute("ALTER TABLE viagem_particionada ADD PRIMARY KEY (id, data_atendimento)");
+        jdbc.execute("CREATE TABLE " + PADRAO + " PARTITION OF viagem_particionada DEFAULT");
+        List<LocalDate> meses = jdbc.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', data_atendimento) AS DATE) FROM viagem", LocalDate.class);
+        meses.forEach(inicio -> criarParticao("viagem_particionada", YearMonth.from(inicio)));
+        int copiadas = jdbc.update("INSERT INTO viagem_particionada SELECT * FROM viagem");
+        jdbc.execute("DROP TABLE viagem");
+        jdbc.execute("ALTER TABLE viagem_particionada RENAME TO viagem");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_viagem_data_atendimento ON viagem (data_atendimento, atendido)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_viagem_cliente ON viagem (cliente_id)");
+        log.info("Tabela viagem convertida para particionada ({} linhas em {} meses)", copiadas, meses.size());
+    }
+
+    // As datas vem de YearMonth, nao do usuario; por isso podem ir no texto do DDL
+    private void criarParticao(String tabela, YearMonth mes) {
+        String particao = "viagem_" + mes.format(SUFIXO);
+        if (Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_class WHERE relname = ? AND relkind IN ('r', 'p'))", Boolean.class, particao))) {
+            return;
+        }
+        String inicio = mes.atDay(1).toString();
+        String fim = mes.plusMonths(1).atDay(1).toString();
+        jdbc.execute("CREATE TABLE " + particao + " (LIKE " + tabela + " INCLUDING DEFAULTS)");
+        jdbc.update("WITH movidas AS (DELETE FROM " + PADRAO + " WHERE data_atendimento >= DATE '" + inicio
+                + "' AND data_atendimento < DATE '" + fim + "' RETURNING *) INSERT INTO " + particao + " SELECT * FROM movidas");
+        jdbc.execute("ALTER TABLE " + tabela + " ATTACH PARTITION " + particao
+                + " FOR VALUES FROM ('" + inicio + "') TO ('" + fim + "')");
+    }
+}
@@ -0,0 +1,37 @@
+package com.seuprojeto.demo.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.PlanoDiarioDTO;
+import com.seuprojeto.demo.model.StatusAmbulancia;
+import com.seuprojeto.demo.repository.AmbulanciaRepository;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.util.PlanejadorViagens;
+
+@Service
+public class PlanejamentoService {
+
+    private final ClienteRepository clienteRepository;
+    private final AmbulanciaRepository ambulanciaRepository;
+    private final PlanejadorViagens planejador = new PlanejadorViagens(ForkJoinPool.commonPool());
+
+    public PlanejamentoService(ClienteRepository clienteRepository, AmbulanciaRepository ambulanciaRepository) {
+        this.clienteRepository = clienteRepository;
+        this.ambulanciaRepository = ambulanciaRepository;
+    }
+
+    // Duas consultas (clientes pendentes do dia e frota disponivel); o resto e feito em memoria
+    @Transactional(readOnly = true)
+    public PlanoDiarioDTO planejar(LocalDate data) {
+        List<Cliente> clientes = clienteRepository.findByDataAtendimentoAndAtendidoFalse(data);
+        List<Ambulancia> ambulancias = ambulanciaRepository.findByStatus(StatusAmbulancia.DISPONIVEL);
+        return planejador.planejar(data, clientes, ambulancias);
+    }
+}
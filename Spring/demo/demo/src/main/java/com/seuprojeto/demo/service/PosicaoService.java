@@ -0,0 +1,155 @@
+package com.seuprojeto.demo.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.seuprojeto.demo.model.PosicaoAmbulancia;
+import com.seuprojeto.demo.repository.AmbulanciaRepository;
+
+/**
+ * Guarda a ultima posicao conhecida de cada ambulancia em memoria. As atualizacoes sao
+ * enviadas aos mapas conectados via SSE e gravadas na tabela ambulancia de forma agrupada:
+ * no maximo uma escrita por veiculo a cada intervalo de persistencia.
+ */
+@Service
+public class PosicaoService {
+
+    private final AmbulanciaRepository ambulanciaRepository;
+    private final IndiceEspacialService indiceEspacialService;
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutStream;
+
+    private final Map<Long, PosicaoAmbulancia> ultimas = new ConcurrentHashMap<>();
+    private final Map<Long, PosicaoAmbulancia> pendentesPersistencia = new ConcurrentHashMap<>();
+    private final Map<Long, PosicaoAmbulancia> pendentesEnvio = new ConcurrentHashMap<>();
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public PosicaoService(AmbulanciaRepository ambulanciaRepository,
+                          IndiceEspacialService indiceEspacialService,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${ambulancia.posicao.timeout-stream:30m}") Duration timeoutStream) {
+        this.ambulanciaRepository = ambulanciaRepository;
+        this.indiceEspacialService = indiceEspacialService;
+        this.transactionTemplate = transactionTemplate;
+        this.timeoutStream = timeoutStream.toMillis();
+    }
+
+    // Retorna quantas posicoes foram aceitas (descarta invalidas e mais antigas que a atual)
+    public int registrar(List<PosicaoAmbulancia> posicoes) {
+        int aceitas = 0;
+        long agora = System.currentTimeMillis();
+        for (PosicaoAmbulancia posicao : posicoes) {
+            if (!valida(posicao)) {
+                continue;
+            }
+            // Relogio do servidor como teto: um ping "do futuro" venceria todos os seguintes e congelaria a posicao
+            if (posicao.getTimestamp() == null || posicao.getTimestamp() > agora) {
+                posicao.setTimestamp(agora);
+            }
+            PosicaoAmbulancia atual = ultimas.merge(posicao.getAmbulanciaId(), posicao, PosicaoService::maisRecente);
+            if (atual == posicao) {
+                // Pings simultaneos do mesmo veiculo: os pendentes tambem ficam com o mais recente
+                pendentesPersistencia.merge(posicao.getAmbulanciaId(), posicao, PosicaoService::maisRecente);
+                pendentesEnvio.merge(posicao.getAmbulanciaId(), posicao, PosicaoService::maisRecente);
+                indiceEspacialService.moverSeDisponivel(posicao.getAmbulanciaId(), posicao.getLatitude(), posicao.getLongitude());
+                aceitas++;
+            }
+        }
+        return aceitas;
+    }
+
+    public Collection<PosicaoAmbulancia> listarUltimas() {
+        return ultimas.values();
+    }
+
+    public SseEmitter inscrever() {
+        SseEmitter emitter = new SseEmitter(timeoutStream);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(erro -> emitters.remove(emitter));
+        emitters.add(emitter);
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(new ArrayList<>(ultimas.values()), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${ambulancia.posicao.intervalo-envio:1s}")
+    public void enviarAlteracoes() {
+        List<PosicaoAmbulancia> alteradas = drenar(pendentesEnvio);
+        if (alteradas.isEmpty()) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("posicoes").data(alteradas, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ambulancia.posicao.intervalo-persistencia:5s}")
+    public void persistir() {
+        List<PosicaoAmbulancia> alteradas = drenar(pendentesPersistencia);
+        if (alteradas.isEmpty()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PosicaoAmbulancia posicao : alteradas) {
+                int linhas = ambulanciaRepository.atualizarPosicao(
+                    posicao.getAmbulanciaId(), posicao.getLatitude(), posicao.getLongitude(), agora);
+                if (linhas == 0) {
+                    // Ambulancia inexistente (ou excluida): deixa de acompanhar
+                    ultimas.remove(posicao.getAmbulanciaId(), posicao);
+                }
+            }
+        });
+    }
+
+    public void remover(Long ambulanciaId) {
+        ultimas.remove(ambulanciaId);
+        pendentesPersistencia.remove(ambulanciaId);
+        pendentesEnvio.remove(ambulanciaId);
+    }
+
+    private static PosicaoAmbulancia maisRecente(PosicaoAmbulancia anterior, PosicaoAmbulancia nova) {
+        return nova.getTimestamp() >= anterior.getTimestamp() ? nova : anterior;
+    }
+
+    private static List<PosicaoAmbulancia> drenar(Map<Long, PosicaoAmbulancia> pendentes) {
+        List<PosicaoAmbulancia> drenadas = new ArrayList<>();
+        for (Long id : pendentes.keySet()) {
+            PosicaoAmbulancia posicao = pendentes.remove(id);
+            if (posicao != null) {
+                drenadas.add(posicao);
+            }
+        }
+        return drenadas;
+    }
+
+    private static boolean valida(PosicaoAmbulancia posicao) {
+        return posicao != null
+            && posicao.getAmbulanciaId() != null
+            && posicao.getLatitude() != null && Math.abs(posicao.getLatitude()) <= 90
+            && posicao.getLongitude() != null && Math.abs(posicao.getLongitude()) <= 180;
+    }
+}
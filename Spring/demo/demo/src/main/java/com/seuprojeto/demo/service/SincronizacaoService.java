@@ -0,0 +1,65 @@
+package com.seuprojeto.demo.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Exclusao;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.repository.ExclusaoRepository;
+
+/**
+ * Sincronizacao incremental das listagens (?since=): linhas com atualizadoEm posterior ao
+ * instante informado mais os ids excluidos desde entao.
+ */
+@Service
+public class SincronizacaoService {
+
+    // Uma transacao que gravou atualizadoEm pouco antes da leitura pode confirmar depois dela;
+    // o sincronizadoEm devolvido recua essa folga para a proxima consulta cobrir esses casos
+    // (linhas repetidas sao inofensivas, o cliente aplica por id).
+    static final Duration FOLGA = Duration.ofSeconds(5);
+
+    private final ExclusaoRepository exclusaoRepository;
+    private final Duration retencao;
+
+    public SincronizacaoService(ExclusaoRepository exclusaoRepository,
+                                @Value("${sincronizacao.exclusoes.retencao:30d}") Duration retencao) {
+        this.exclusaoRepository = exclusaoRepository;
+        this.retencao = retencao;
+    }
+
+    // since anterior a retencao dos tombstones: devolve tudo com completo=true (o cliente substitui a copia).
+    // Sem readOnly de proposito: com replicas (RoteamentoDataSource) a leitura fica na primaria, porque
+    // linhas ainda nao aplicadas na replica cairiam antes do cursor devolvido e nunca seriam enviadas
+    @Transactional
+    public <T> SincronizacaoDTO<T> desde(String entidade, Instant since, Function<Instant, List<T>> alteradosDesde) {
+        Instant agora = Instant.now();
+        if (since.isBefore(agora.minus(retencao))) {
+            return new SincronizacaoDTO<>(alteradosDesde.apply(Instant.EPOCH), List.of(), agora.minus(FOLGA), true);
+        }
+        List<T> itens = alteradosDesde.apply(since);
+        List<Long> excluidos = exclusaoRepository.idsExcluidosDesde(entidade, since);
+        return new SincronizacaoDTO<>(itens, excluidos, agora.minus(FOLGA), false);
+    }
+
+    // Exclusao e tombstone na mesma transacao
+    @Transactional
+    public void excluir(String entidade, JpaRepository<?, Long> repository, Long id) {
+        repository.deleteById(id);
+        exclusaoRepository.save(new Exclusao(entidade, id, Instant.now()));
+    }
+
+    @Scheduled(cron = "${sincronizacao.exclusoes.limpeza:0 30 3 * * *}")
+    @Transactional
+    public void limparExclusoes() {
+        exclusaoRepository.excluirAnterioresA(Instant.now().minus(retencao));
+    }
+}
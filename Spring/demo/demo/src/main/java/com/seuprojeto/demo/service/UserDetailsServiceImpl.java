@@ -1,20 +1,33 @@
 package com.seuprojeto.demo.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.seuprojeto.demo.model.Usuario;
 import com.seuprojeto.demo.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
+    private final Cache<String, UserDetails> cache;
 
-    public UserDetailsServiceImpl(UsuarioRepository usuarioRepository) {
+    public UserDetailsServiceImpl(UsuarioRepository usuarioRepository,
+                                  @Value("${seguranca.usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                  @Value("${seguranca.usuarios.cache.ttl:5m}") Duration ttl) {
         this.usuarioRepository = usuarioRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(ttl)
+            .build();
     }
 
     @Override
@@ -28,4 +41,26 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             .roles(usuario.getRole())
             .build();
     }
+
+    // Chamado pelo DaoAuthenticationProvider apos um login valido com hash antigo (outro formato ou custo menor)
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        usuarioRepository.findByEmail(user.getUsername()).ifPresent(usuario -> {
+            usuario.setSenha(newPassword);
+            usuarioRepository.save(usuario);
+        });
+        invalidar(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    // Usado pelo filtro JWT; o login continua indo sempre ao banco via loadUserByUsername
+    public UserDetails carregarComCache(String email) throws UsernameNotFoundException {
+        return cache.get(email, this::loadUserByUsername);
+    }
+
+    public void invalidar(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
 }
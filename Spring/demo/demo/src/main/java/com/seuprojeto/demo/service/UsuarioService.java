@@ -0,0 +1,103 @@
+package com.seuprojeto.demo.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.seuprojeto.demo.model.Usuario;
+import com.seuprojeto.demo.model.UsuarioDTO;
+import com.seuprojeto.demo.repository.UsuarioRepository;
+import com.seuprojeto.demo.util.AposCommit;
+
+/**
+ * Cadastro de usuarios; tudo sai como UsuarioDTO. O hash da senha (caro, de proposito) e
+ * calculado antes de abrir a transacao, para nao prender uma conexao enquanto roda.
+ */
+@Service
+public class UsuarioService {
+
+    private final UsuarioRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TransactionTemplate transacao;
+
+    public UsuarioService(UsuarioRepository repository, PasswordEncoder passwordEncoder,
+                          UserDetailsServiceImpl userDetailsService, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UsuarioDTO> listar(Pageable pageable) {
+        return repository.findAll(pageable).map(UsuarioDTO::de);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UsuarioDTO> listarAposId(Long afterId, int limite) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limite)).stream().map(UsuarioDTO::de).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UsuarioDTO> listarPorRole(String role, Pageable pageable) {
+        return repository.findByRole(role, pageable).map(UsuarioDTO::de);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UsuarioDTO> buscar(Long id) {
+        return repository.findById(id).map(UsuarioDTO::de);
+    }
+
+    @Transactional(readOnly = true)
+    public long contar() {
+        return repository.count();
+    }
+
+    // Vazio se o email ja estiver cadastrado
+    public Optional<UsuarioDTO> cadastrar(Usuario usuario) {
+        if (repository.findByEmail(usuario.getEmail()).isPresent()) {
+            return Optional.empty();
+        }
+        usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
+        return Optional.of(UsuarioDTO.de(repository.save(usuario)));
+    }
+
+    // Senha vazia mantem a atual
+    public Optional<UsuarioDTO> atualizar(Long id, Usuario dados) {
+        String senha = dados.getSenha() != null && !dados.getSenha().isEmpty() ? passwordEncoder.encode(dados.getSenha()) : null;
+        return transacao.execute(status -> repository.findById(id).map(usuario -> {
+            // So depois do commit: antes dele um request JWT recarregaria a versao antiga no cache
+            String emailAnterior = usuario.getEmail();
+            AposCommit.executar(() -> userDetailsService.invalidar(emailAnterior));
+            usuario.setNome(dados.getNome());
+            usuario.setEmail(dados.getEmail());
+            if (senha != null) {
+                usuario.setSenha(senha);
+            }
+            usuario.setRole(dados.getRole());
+            return UsuarioDTO.de(repository.save(usuario));
+        }));
+    }
+
+    // false se o usuario nao existe
+    @Transactional
+    public boolean excluir(Long id) {
+        Optional<Usuario> usuario = repository.findById(id);
+        if (usuario.isEmpty()) {
+            return false;
+        }
+        repository.delete(usuario.get());
+        String email = usuario.get().getEmail();
+        AposCommit.executar(() -> userDetailsService.invalidar(email));
+        return true;
+    }
+}
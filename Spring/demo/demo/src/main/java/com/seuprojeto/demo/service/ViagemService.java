@@ -0,0 +1,68 @@
+package com.seuprojeto.demo.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.Viagem;
+import com.seuprojeto.demo.repository.ViagemRepository;
+
+/**
+ * Mantem a tabela viagem em dia com os campos de viagem do Cliente. Cada cliente tem no maximo
+ * uma viagem pendente (a da sua dataAtendimento atual); as atendidas ficam como historico ate
+ * o arquivamento. Os metodos rodam na transacao de quem grava o cliente.
+ */
+@Service
+public class ViagemService {
+
+    private final ViagemRepository repository;
+
+    public ViagemService(ViagemRepository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional
+    public void registrar(Cliente cliente) {
+        LocalDate data = cliente.getDataAtendimento();
+        if (data == null) {
+            repository.removerPendentes(cliente.getId());
+            return;
+        }
+        repository.removerPendentesExceto(cliente.getId(), data);
+        // A atendida da data so e reaproveitada se o cliente continua atendido (edicao do cadastro);
+        // reagendado de volta para uma data do historico, ganha uma viagem nova
+        Viagem viagem = repository.findFirstByClienteIdAndDataAtendimentoAndAtendidoOrderByIdDesc(cliente.getId(), data, false)
+                .or(() -> cliente.isAtendido()
+                        ? repository.findFirstByClienteIdAndDataAtendimentoAndAtendidoOrderByIdDesc(cliente.getId(), data, true)
+                        : Optional.empty())
+                .orElseGet(() -> new Viagem(cliente.getId(), data));
+        repository.save(copiar(cliente, viagem));
+    }
+
+    // Clientes recem-criados (importacao): nao ha viagem anterior a conferir, so INSERTs em lote
+    @Transactional
+    public void registrarNovos(List<Cliente> clientes) {
+        repository.saveAll(clientes.stream()
+                .filter(cliente -> cliente.getDataAtendimento() != null)
+                .map(cliente -> copiar(cliente, new Viagem(cliente.getId(), cliente.getDataAtendimento())))
+                .toList());
+    }
+
+    @Transactional
+    public void removerDoCliente(Long clienteId) {
+        repository.removerDoCliente(clienteId);
+    }
+
+    private static Viagem copiar(Cliente cliente, Viagem viagem) {
+        viagem.setHorarioVan(cliente.getHorarioVan());
+        viagem.setHorarioAtendimento(cliente.getHorarioAtendimento());
+        viagem.setDestino(cliente.getDestino());
+        viagem.setVagas(cliente.getVagas());
+        viagem.setAtendido(cliente.isAtendido());
+        return viagem;
+    }
+}
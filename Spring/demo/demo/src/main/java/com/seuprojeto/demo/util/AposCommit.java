@@ -0,0 +1,27 @@
+package com.seuprojeto.demo.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Atualizacoes de indices e registros em memoria que espelham o banco. Dentro de uma transacao
+ * so rodam depois do commit: um rollback (inclusive o conflito de @Version, detectado no flush)
+ * nao deixa na memoria dados que nunca foram gravados. Fora de transacao rodam na hora.
+ */
+public final class AposCommit {
+
+    private AposCommit() {}
+
+    public static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
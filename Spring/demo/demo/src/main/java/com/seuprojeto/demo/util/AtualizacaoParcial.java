@@ -0,0 +1,69 @@
+package com.seuprojeto.demo.util;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Aplica um PATCH (mapa campo -> valor do JSON) sobre uma entidade ja carregada. Somente os
+ * campos enviados mudam; com @DynamicUpdate o UPDATE gerado inclui apenas essas colunas.
+ * Datas vem no formato ISO (yyyy-MM-dd), como no restante da API.
+ */
+public final class AtualizacaoParcial {
+
+    public static final String CAMPO_VERSAO = "versao";
+
+    private static final Set<String> CAMPOS_PROTEGIDOS = Set.of("id", CAMPO_VERSAO, "atualizadoEm");
+    private static final DefaultFormattingConversionService CONVERSAO = new DefaultFormattingConversionService();
+
+    private AtualizacaoParcial() {}
+
+    public static void aplicar(Object entidade, Map<String, Object> campos) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entidade);
+        wrapper.setConversionService(CONVERSAO);
+        for (Map.Entry<String, Object> campo : campos.entrySet()) {
+            if (CAMPOS_PROTEGIDOS.contains(campo.getKey())) {
+                continue;
+            }
+            if (!wrapper.isWritableProperty(campo.getKey())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo desconhecido: " + campo.getKey());
+            }
+            try {
+                wrapper.setPropertyValue(campo.getKey(), campo.getValue());
+            } catch (BeansException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valor invalido para " + campo.getKey());
+            }
+        }
+    }
+
+    // Versao esperada pelo cliente: If-Match ("3" ou W/"3") ou o campo versao do corpo
+    public static Long versaoEsperada(String ifMatch, Map<String, Object> campos) {
+        if (ifMatch != null && !ifMatch.isBlank()) {
+            String valor = ifMatch.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            try {
+                return Long.valueOf(valor.replace("\"", ""));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match deve conter a versao do registro");
+            }
+        }
+        Object versao = campos != null ? campos.get(CAMPO_VERSAO) : null;
+        return versao instanceof Number numero ? numero.longValue() : null;
+    }
+
+    // Sem versao esperada nao ha checagem previa; o @Version ainda protege contra gravacoes simultaneas
+    public static void verificarVersao(Class<?> tipo, Object id, Long versaoEsperada, Long versaoAtual) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new ObjectOptimisticLockingFailureException(tipo, id);
+        }
+    }
+}
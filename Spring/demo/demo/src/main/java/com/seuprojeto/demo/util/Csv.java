@@ -0,0 +1,104 @@
+package com.seuprojeto.demo.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura e escrita de CSV (RFC 4180, separador virgula). O leitor consome um registro por
+ * vez do Reader, entao arquivos grandes nao sao carregados inteiros em memoria; campos entre
+ * aspas podem conter virgulas, aspas duplicadas e quebras de linha.
+ */
+public final class Csv {
+
+    private Csv() {}
+
+    public static class Leitor {
+
+        private final Reader reader;
+        private long linhasLidas = 0;
+        private long linhaRegistro = 0;
+        private int pendente = -2;
+
+        public Leitor(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Linha (1-based) em que comecou o ultimo registro lido
+        public long getLinha() {
+            return linhaRegistro;
+        }
+
+        // Proximo registro, ou null no fim do arquivo
+        public List<String> proximo() throws IOException {
+            int c = ler();
+            while (c == '\r' || c == '\n') {
+                c = ler();
+            }
+            if (c == -1) {
+                return null;
+            }
+            linhaRegistro = linhasLidas + 1;
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean aspas = false;
+            while (true) {
+                if (aspas) {
+                    if (c == -1) {
+                        throw new IOException("Aspas nao fechadas a partir da linha " + linhaRegistro);
+                    }
+                    if (c == '"') {
+                        c = ler();
+                        if (c != '"') {
+                            aspas = false;
+                            continue;
+                        }
+                    }
+                    campo.append((char) c);
+                } else if (c == '"' && campo.isEmpty()) {
+                    aspas = true;
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        int seguinte = ler();
+                        if (seguinte != '\n') {
+                            pendente = seguinte;
+                        }
+                    }
+                    campos.add(campo.toString());
+                    return campos;
+                } else {
+                    campo.append((char) c);
+                }
+                c = ler();
+            }
+        }
+
+        private int ler() throws IOException {
+            if (pendente != -2) {
+                int c = pendente;
+                pendente = -2;
+                return c;
+            }
+            int c = reader.read();
+            if (c == '\n') {
+                linhasLidas++;
+            }
+            return c;
+        }
+    }
+
+    public static String escapar(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
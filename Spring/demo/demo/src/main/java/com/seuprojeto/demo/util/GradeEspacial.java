@@ -0,0 +1,207 @@
+package com.seuprojeto.demo.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indice espacial em grade uniforme (celulas de tamanhoCelula graus). Cada ponto fica na
+ * celula que contem sua coordenada; a busca dos k mais proximos percorre aneis de celulas
+ * a partir da celula da consulta e para assim que nenhum anel restante pode ter um ponto
+ * mais proximo que o k-esimo encontrado.
+ *
+ * Atualizacoes de um mesmo id sao serializadas pelo compute do ConcurrentHashMap;
+ * leituras nao bloqueiam.
+ */
+public class GradeEspacial {
+
+    public static final double RAIO_TERRA_KM = 6371.0088;
+    private static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180.0;
+
+    public record Ponto(long id, double latitude, double longitude, long celula) {}
+
+    public record Vizinho(long id, double latitude, double longitude, double distanciaKm) {}
+
+    private final double tamanhoCelula;
+    private final int maxAneis;
+    private final Map<Long, Ponto> pontos = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> celulas = new ConcurrentHashMap<>();
+
+    public GradeEspacial(double tamanhoCelula) {
+        if (tamanhoCelula <= 0) {
+            throw new IllegalArgumentException("tamanhoCelula deve ser positivo");
+        }
+        this.tamanhoCelula = tamanhoCelula;
+        this.maxAneis = (int) Math.ceil(360.0 / tamanhoCelula);
+    }
+
+    public void atualizar(long id, double latitude, double longitude) {
+        pontos.compute(id, (chave, anterior) -> mover(anterior, id, latitude, longitude));
+    }
+
+    // Move apenas pontos que ja estao no indice (ex.: nova posicao de uma ambulancia disponivel)
+    public void atualizarSePresente(long id, double latitude, double longitude) {
+        pontos.computeIfPresent(id, (chave, anterior) -> mover(anterior, id, latitude, longitude));
+    }
+
+    public void remover(long id) {
+        pontos.computeIfPresent(id, (chave, anterior) -> {
+            removerDaCelula(anterior);
+            return null;
+        });
+    }
+
+    public boolean contem(long id) {
+        return pontos.containsKey(id);
+    }
+
+    public int tamanho() {
+        return pontos.size();
+    }
+
+    public void limpar() {
+        pontos.clear();
+        celulas.clear();
+    }
+
+    /**
+     * Os k pontos mais proximos de (latitude, longitude), ordenados por distancia.
+     * raioKm <= 0 significa sem limite de distancia.
+     */
+    public List<Vizinho> maisProximos(double latitude, double longitude, int k, double raioKm) {
+        if (k <= 0 || pontos.isEmpty()) {
+            return List.of();
+        }
+        boolean limitado = raioKm > 0;
+        PriorityQueue<Vizinho> melhores = new PriorityQueue<>(k, Comparator.comparingDouble(Vizinho::distanciaKm).reversed());
+        int cx = indiceX(longitude);
+        int cy = indiceY(latitude);
+        int total = pontos.size();
+        int visitados = 0;
+
+        for (int anel = 0; anel <= maxAneis; anel++) {
+            double distanciaMinimaAnel = distanciaMinimaDoAnel(latitude, anel);
+            if (limitado && distanciaMinimaAnel > raioKm) {
+                break;
+            }
+            if (melhores.size() == k && distanciaMinimaAnel > melhores.peek().distanciaKm()) {
+                break;
+            }
+            if (visitados >= total) {
+                break;
+            }
+            if (8L * anel > celulas.size()) {
+                // O anel ja tem mais celulas que a grade ocupada: varrer todos os pontos e mais barato
+                melhores.clear();
+                for (Ponto ponto : pontos.values()) {
+                    considerar(ponto, latitude, longitude, k, limitado ? raioKm : Double.MAX_VALUE, melhores);
+                }
+                break;
+            }
+            visitados += visitarAnel(cx, cy, anel, latitude, longitude, k, limitado ? raioKm : Double.MAX_VALUE, melhores);
+        }
+
+        List<Vizinho> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return resultado;
+    }
+
+    private int visitarAnel(int cx, int cy, int anel, double latitude, double longitude, int k,
+                            double raioKm, PriorityQueue<Vizinho> melhores) {
+        int visitados = 0;
+        for (int dx = -anel; dx <= anel; dx++) {
+            for (int dy = -anel; dy <= anel; dy++) {
+                // Apenas o perimetro do anel; o interior ja foi visitado
+                if (Math.abs(dx) != anel && Math.abs(dy) != anel) {
+                    continue;
+                }
+                Set<Long> ids = celulas.get(chave(cx + dx, cy + dy));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Ponto ponto = pontos.get(id);
+                    if (ponto == null) {
+                        continue;
+                    }
+                    visitados++;
+                    considerar(ponto, latitude, longitude, k, raioKm, melhores);
+                }
+            }
+        }
+        return visitados;
+    }
+
+    private static void considerar(Ponto ponto, double latitude, double longitude, int k,
+                                   double raioKm, PriorityQueue<Vizinho> melhores) {
+        double distancia = distanciaKm(latitude, longitude, ponto.latitude(), ponto.longitude());
+        if (distancia > raioKm) {
+            return;
+        }
+        if (melhores.size() < k) {
+            melhores.add(new Vizinho(ponto.id(), ponto.latitude(), ponto.longitude(), distancia));
+        } else if (distancia < melhores.peek().distanciaKm()) {
+            melhores.poll();
+            melhores.add(new Vizinho(ponto.id(), ponto.latitude(), ponto.longitude(), distancia));
+        }
+    }
+
+    // Limite inferior da distancia ate qualquer ponto de um anel (usa o menor grau de longitude do anel)
+    private double distanciaMinimaDoAnel(double latitude, int anel) {
+        if (anel == 0) {
+            return 0;
+        }
+        double graus = (anel - 1) * tamanhoCelula;
+        double latitudeExtrema = Math.min(89.9, Math.abs(latitude) + (anel + 1) * tamanhoCelula);
+        return graus * KM_POR_GRAU * Math.cos(Math.toRadians(latitudeExtrema));
+    }
+
+    private Ponto mover(Ponto anterior, long id, double latitude, double longitude) {
+        long celula = chave(indiceX(longitude), indiceY(latitude));
+        if (anterior != null && anterior.celula() != celula) {
+            removerDaCelula(anterior);
+        }
+        if (anterior == null || anterior.celula() != celula) {
+            // Inclusao dentro do compute: atomica com a remocao da celula que esvaziou (removerDaCelula)
+            celulas.compute(celula, (c, ids) -> {
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                }
+                ids.add(id);
+                return ids;
+            });
+        }
+        return new Ponto(id, latitude, longitude, celula);
+    }
+
+    private void removerDaCelula(Ponto ponto) {
+        celulas.computeIfPresent(ponto.celula(), (c, ids) -> {
+            ids.remove(ponto.id());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private int indiceX(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / tamanhoCelula);
+    }
+
+    private int indiceY(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / tamanhoCelula);
+    }
+
+    private static long chave(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
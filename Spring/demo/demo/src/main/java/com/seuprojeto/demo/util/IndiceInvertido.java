@@ -0,0 +1,116 @@
+package com.seuprojeto.demo.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Indice invertido termo -> ids. Cada texto indexado gera como termos a frase normalizada
+ * (minusculas, sem acentos nem pontuacao) e cada palavra de 3 letras ou mais, para que
+ * "Fisioterapia respiratoria" encontre um id indexado com "Fisioterapia". A busca pontua cada
+ * id pelo numero de termos em comum com o texto consultado.
+ *
+ * Atualizacoes de um mesmo id sao serializadas pelo compute do ConcurrentHashMap;
+ * leituras nao bloqueiam.
+ */
+public class IndiceInvertido {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final int TAMANHO_MINIMO_PALAVRA = 3;
+
+    public record Resultado(long id, int pontos) {}
+
+    private final Map<Long, Set<String>> termosPorId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> idsPorTermo = new ConcurrentHashMap<>();
+
+    // Substitui os textos indexados do id; so os termos que mudaram sao tocados
+    public void atualizar(long id, Collection<String> textos) {
+        Set<String> novos = termos(textos);
+        termosPorId.compute(id, (chave, anteriores) -> {
+            if (anteriores != null) {
+                for (String termo : anteriores) {
+                    if (!novos.contains(termo)) {
+                        removerDoTermo(termo, id);
+                    }
+                }
+            }
+            for (String termo : novos) {
+                idsPorTermo.compute(termo, (t, ids) -> {
+                    Set<Long> conjunto = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    conjunto.add(id);
+                    return conjunto;
+                });
+            }
+            return novos.isEmpty() ? null : novos;
+        });
+    }
+
+    public void remover(long id) {
+        termosPorId.computeIfPresent(id, (chave, anteriores) -> {
+            anteriores.forEach(termo -> removerDoTermo(termo, id));
+            return null;
+        });
+    }
+
+    public void limpar() {
+        termosPorId.clear();
+        idsPorTermo.clear();
+    }
+
+    public int tamanho() {
+        return termosPorId.size();
+    }
+
+    // Ids com ao menos um termo em comum, do mais pontuado para o menos (empate: menor id)
+    public List<Resultado> buscar(String texto, int limite) {
+        Map<Long, Integer> pontos = new HashMap<>();
+        for (String termo : termos(List.of(texto == null ? "" : texto))) {
+            for (Long id : idsPorTermo.getOrDefault(termo, Set.of())) {
+                pontos.merge(id, 1, Integer::sum);
+            }
+        }
+        List<Resultado> resultados = new ArrayList<>(pontos.size());
+        pontos.forEach((id, p) -> resultados.add(new Resultado(id, p)));
+        resultados.sort(Comparator.comparingInt(Resultado::pontos).reversed().thenComparingLong(Resultado::id));
+        return resultados.size() > limite ? resultados.subList(0, limite) : resultados;
+    }
+
+    public static String normalizar(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Set<String> termos(Collection<String> textos) {
+        Set<String> termos = new LinkedHashSet<>();
+        for (String texto : textos) {
+            String frase = normalizar(texto);
+            if (frase.isEmpty()) {
+                continue;
+            }
+            termos.add(frase);
+            for (String palavra : frase.split(" ")) {
+                if (palavra.length() >= TAMANHO_MINIMO_PALAVRA) {
+                    termos.add(palavra);
+                }
+            }
+        }
+        return termos;
+    }
+
+    private void removerDoTermo(String termo, long id) {
+        idsPorTermo.computeIfPresent(termo, (t, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,246 @@
+package com.seuprojeto.demo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indice de trigramas em memoria para busca aproximada (tolera erros de digitacao e busca por
+ * prefixo), no mesmo espirito do pg_trgm: o texto e normalizado (IndiceInvertido.normalizar),
+ * cada palavra recebe dois espacos antes e um depois e gera seus trigramas. A similaridade de
+ * um documento e a fracao dos trigramas da consulta que ele contem.
+ *
+ * Cada documento ocupa um slot; as listas de slots por trigrama sao arrays de int so com
+ * acrescimos (ficam ordenadas). Atualizar um id marca o slot antigo como removido e usa um
+ * novo; quando um quarto dos slots esta removido as listas sao compactadas. Escritas usam o
+ * lock de escrita; buscas, o de leitura.
+ */
+public class IndiceTrigramas {
+
+    private static final int SIMBOLOS = 37;
+    private static final int TRIGRAMAS = SIMBOLOS * SIMBOLOS * SIMBOLOS;
+    private static final int COMPACTAR_A_PARTIR_DE = 1024;
+    // Acertos por slot sao contados em byte (um quarto da memoria percorrida de um int[])
+    private static final int MAX_TRIGRAMAS_CONSULTA = Byte.MAX_VALUE;
+
+    public record Resultado(long id, double similaridade) {}
+
+    public record Pagina(List<Resultado> itens, int total) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int[][] listas = new int[TRIGRAMAS][];
+    private final int[] tamanhos = new int[TRIGRAMAS];
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final BitSet removidos = new BitSet();
+    private long[] idPorSlot = new long[1024];
+    private int slots = 0;
+
+    public void atualizar(long id, String texto) {
+        int[] trigramas = trigramas(texto);
+        lock.writeLock().lock();
+        try {
+            removerSlot(id);
+            if (slots == idPorSlot.length) {
+                idPorSlot = Arrays.copyOf(idPorSlot, slots * 2);
+            }
+            int slot = slots++;
+            idPorSlot[slot] = id;
+            slotPorId.put(id, slot);
+            for (int trigrama : trigramas) {
+                acrescentar(trigrama, slot);
+            }
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSlot(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(listas, null);
+            Arrays.fill(tamanhos, 0);
+            slotPorId.clear();
+            removidos.clear();
+            slots = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documentos com similaridade >= similaridadeMinima, da maior para a menor (empate: ordem
+     * de indexacao). total conta todos os encontrados, nao so a pagina.
+     */
+    public Pagina buscar(String texto, double similaridadeMinima, int inicio, int limite) {
+        int[] consulta = trigramas(texto);
+        if (consulta.length == 0) {
+            return new Pagina(List.of(), 0);
+        }
+        if (consulta.length > MAX_TRIGRAMAS_CONSULTA) {
+            consulta = Arrays.copyOf(consulta, MAX_TRIGRAMAS_CONSULTA);
+        }
+        int minimo = Math.max(1, (int) Math.ceil(similaridadeMinima * consulta.length));
+        lock.readLock().lock();
+        try {
+            byte[] acertos = new byte[slots];
+            for (int trigrama : consulta) {
+                int[] lista = listas[trigrama];
+                for (int i = 0, n = tamanhos[trigrama]; i < n; i++) {
+                    acertos[lista[i]]++;
+                }
+            }
+            // Contagem por numero de acertos, para paginar sem ordenar todos os candidatos
+            int[] porAcertos = new int[consulta.length + 1];
+            for (int slot = 0; slot < slots; slot++) {
+                if (acertos[slot] >= minimo && !removidos.get(slot)) {
+                    porAcertos[acertos[slot]]++;
+                }
+            }
+            int total = 0;
+            for (int a = minimo; a <= consulta.length; a++) {
+                total += porAcertos[a];
+            }
+            // Quantos de cada nivel pular e quantos pegar; depois uma unica passada pelos slots
+            int[] pular = new int[consulta.length + 1];
+            List<List<Resultado>> niveis = new ArrayList<>(consulta.length + 1);
+            int restantePular = inicio;
+            int restantePegar = limite;
+            for (int a = consulta.length; a >= 0; a--) {
+                niveis.add(null);
+            }
+            int[] pegar = new int[consulta.length + 1];
+            for (int a = consulta.length; a >= minimo; a--) {
+                pular[a] = Math.min(restantePular, porAcertos[a]);
+                restantePular -= pular[a];
+                pegar[a] = Math.min(restantePegar, porAcertos[a] - pular[a]);
+                restantePegar -= pegar[a];
+                niveis.set(a, new ArrayList<>(pegar[a]));
+            }
+            for (int slot = 0; slot < slots && restantePegar < limite; slot++) {
+                int a = acertos[slot];
+                if (a < minimo || removidos.get(slot)) {
+                    continue;
+                }
+                if (pular[a] > 0) {
+                    pular[a]--;
+                } else if (pegar[a] > 0) {
+                    pegar[a]--;
+                    restantePegar++;
+                    niveis.get(a).add(new Resultado(idPorSlot[slot], (double) a / consulta.length));
+                }
+            }
+            List<Resultado> itens = new ArrayList<>();
+            for (int a = consulta.length; a >= minimo; a--) {
+                itens.addAll(niveis.get(a));
+            }
+            return new Pagina(itens, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removerSlot(long id) {
+        Integer anterior = slotPorId.remove(id);
+        if (anterior != null) {
+            removidos.set(anterior);
+        }
+    }
+
+    private void acrescentar(int trigrama, int slot) {
+        int[] lista = listas[trigrama];
+        int n = tamanhos[trigrama];
+        if (lista == null) {
+            lista = listas[trigrama] = new int[4];
+        } else if (n == lista.length) {
+            lista = listas[trigrama] = Arrays.copyOf(lista, n * 2);
+        }
+        lista[n] = slot;
+        tamanhos[trigrama] = n + 1;
+    }
+
+    // Renumera os slots vivos em ordem e filtra cada lista; as listas continuam ordenadas
+    private void compactarSeNecessario() {
+        int quantidadeRemovidos = removidos.cardinality();
+        if (quantidadeRemovidos < COMPACTAR_A_PARTIR_DE || quantidadeRemovidos * 4 < slots) {
+            return;
+        }
+        int[] novoSlot = new int[slots];
+        long[] novosIds = new long[Math.max(1024, slots - quantidadeRemovidos)];
+        int vivos = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (removidos.get(slot)) {
+                novoSlot[slot] = -1;
+            } else {
+                novoSlot[slot] = vivos;
+                novosIds[vivos] = idPorSlot[slot];
+                slotPorId.put(idPorSlot[slot], vivos);
+                vivos++;
+            }
+        }
+        for (int trigrama = 0; trigrama < TRIGRAMAS; trigrama++) {
+            int[] lista = listas[trigrama];
+            int mantidos = 0;
+            for (int i = 0, n = tamanhos[trigrama]; i < n; i++) {
+                int slot = novoSlot[lista[i]];
+                if (slot >= 0) {
+                    lista[mantidos++] = slot;
+                }
+            }
+            tamanhos[trigrama] = mantidos;
+        }
+        idPorSlot = novosIds;
+        slots = vivos;
+        removidos.clear();
+    }
+
+    // Trigramas distintos do texto, codificados em base 37 (espaco, a-z, 0-9)
+    static int[] trigramas(String texto) {
+        String normalizado = texto == null ? "" : IndiceInvertido.normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return new int[0];
+        }
+        BitSet vistos = new BitSet(TRIGRAMAS);
+        for (String palavra : normalizado.split(" ")) {
+            String comEspacos = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= comEspacos.length(); i++) {
+                vistos.set((simbolo(comEspacos.charAt(i)) * SIMBOLOS + simbolo(comEspacos.charAt(i + 1))) * SIMBOLOS
+                        + simbolo(comEspacos.charAt(i + 2)));
+            }
+        }
+        return vistos.stream().toArray();
+    }
+
+    private static int simbolo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+}
@@ -1,26 +1,75 @@
 package com.seuprojeto.demo.util;
 
+import com.seuprojeto.demo.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    private static final String SECRET = "mySecretKeyForJwtTokenGenerationThatIsLongEnough";
-    private static final int JWT_EXPIRATION = 86400000; // 24 hours
+    public static final String ROLES_CLAIM = "roles";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final String kid;
+    private final Key signingKey;
+    private final Map<String, Key> chavesPorKid;
+    private final long expiracaoMillis;
+    // JwtParser e imutavel e thread-safe: criado uma unica vez e compartilhado entre as requisicoes
+    private final JwtParser parser;
+
+    public JwtUtil(JwtProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("jwt.secret não configurado");
+        }
+        this.kid = properties.getKid();
+        this.signingKey = criarChave(properties.getSecret());
+        this.expiracaoMillis = properties.getExpiracao().toMillis();
+
+        Map<String, Key> chaves = new HashMap<>();
+        properties.getChavesAnteriores().forEach((kidAnterior, secret) -> chaves.put(kidAnterior, criarChave(secret)));
+        chaves.put(kid, signingKey);
+        this.chavesPorKid = Map.copyOf(chaves);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolverChave(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    private static Key criarChave(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Tokens sem "kid" foram emitidos antes da rotacao e usam a chave atual
+    private Key resolverChave(String keyId) {
+        if (keyId == null) {
+            return signingKey;
+        }
+        Key chave = chavesPorKid.get(keyId);
+        if (chave == null) {
+            throw new JwtException("Chave de assinatura desconhecida: " + keyId);
+        }
+        return chave;
     }
 
     public String extractUsername(String token) {
@@ -37,7 +86,17 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Verifica assinatura e expiracao com um unico parse; lanca JwtException se o token for invalido
+    public Claims validarToken(String token) throws JwtException {
+        return extractAllClaims(token);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims) {
+        return claims.get(ROLES_CLAIM, List.class);
     }
 
     private Boolean isTokenExpired(String token) {
@@ -46,16 +105,19 @@ public class JwtUtil {
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
         return createToken(claims, userDetails.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long agora = System.currentTimeMillis();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(agora))
+                .setExpiration(new Date(agora + expiracaoMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -0,0 +1,61 @@
+package com.seuprojeto.demo.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por chave (email, IP) em memoria fixa e sem locks. As chaves sao espalhadas em
+ * faixas (potencia de 2); cada faixa guarda um unico long, o instante teorico em que o balde
+ * volta a ficar cheio (formulacao GCRA), atualizado por compareAndSet. Chaves diferentes na
+ * mesma faixa dividem o balde, entao o numero de faixas deve ser bem maior que o de chaves
+ * ativas ao mesmo tempo.
+ */
+public class LimitadorTaxa {
+
+    private final AtomicLongArray faixas;
+    private final int mascara;
+    private final long intervaloNanos;
+    private final long limiteNanos;
+    private final LongSupplier relogio;
+    private final long inicio;
+
+    public LimitadorTaxa(int capacidade, Duration periodo, int faixas) {
+        this(capacidade, periodo, faixas, System::nanoTime);
+    }
+
+    LimitadorTaxa(int capacidade, Duration periodo, int faixas, LongSupplier relogio) {
+        if (capacidade < 1 || faixas < 1) {
+            throw new IllegalArgumentException("capacidade e faixas devem ser positivas");
+        }
+        int tamanho = faixas == 1 ? 1 : Integer.highestOneBit(faixas - 1) << 1;
+        this.faixas = new AtomicLongArray(tamanho);
+        this.mascara = tamanho - 1;
+        this.intervaloNanos = periodo.toNanos() / capacidade;
+        this.limiteNanos = intervaloNanos * capacidade;
+        this.relogio = relogio;
+        this.inicio = relogio.getAsLong();
+    }
+
+    // Consome uma ficha; devolve Duration.ZERO se permitido ou quanto esperar pela proxima
+    public Duration tentar(String chave) {
+        int faixa = faixa(chave);
+        long agora = relogio.getAsLong() - inicio;
+        while (true) {
+            long cheio = faixas.get(faixa);
+            long novo = Math.max(cheio, agora) + intervaloNanos;
+            long excesso = novo - agora - limiteNanos;
+            if (excesso > 0) {
+                return Duration.ofNanos(excesso);
+            }
+            if (faixas.compareAndSet(faixa, cheio, novo)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    private int faixa(String chave) {
+        int h = chave.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
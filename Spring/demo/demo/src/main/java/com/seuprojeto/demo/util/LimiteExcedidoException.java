@@ -0,0 +1,29 @@
+package com.seuprojeto.demo.util;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// 429 com Retry-After (em segundos, arredondado para cima)
+public class LimiteExcedidoException extends ResponseStatusException {
+
+    private final long segundos;
+
+    public LimiteExcedidoException(String motivo, Duration espera) {
+        super(HttpStatus.TOO_MANY_REQUESTS, motivo);
+        this.segundos = Math.max(1, (espera.toMillis() + 999) / 1000);
+    }
+
+    public long getSegundos() {
+        return segundos;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        return headers;
+    }
+}
@@ -0,0 +1,73 @@
+package com.seuprojeto.demo.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Monta as respostas paginadas das listagens. O corpo continua sendo um array JSON
+ * (compativel com as telas existentes) e os metadados de paginacao vao nos headers.
+ */
+public final class Paginacao {
+
+    public static final String TOTAL_HEADER = "X-Total-Count";
+    public static final String PROXIMA_PAGINA_HEADER = "X-Next-Page";
+    public static final String PROXIMO_CURSOR_HEADER = "X-Next-Cursor";
+
+    private Paginacao() {}
+
+    public static <T> ResponseEntity<List<T>> pagina(Page<T> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+            .header(TOTAL_HEADER, String.valueOf(pagina.getTotalElements()));
+        if (pagina.hasNext()) {
+            resposta.header(PROXIMA_PAGINA_HEADER, String.valueOf(pagina.getNumber() + 1));
+        }
+        return resposta.body(pagina.getContent());
+    }
+
+    // Modo keyset: o proximo cursor e o ultimo id retornado, enquanto a pagina vier cheia
+    public static <T> ResponseEntity<List<T>> cursor(List<T> itens, int limite, Function<T, Long> id) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (!itens.isEmpty() && itens.size() >= limite) {
+            resposta.header(PROXIMO_CURSOR_HEADER, String.valueOf(id.apply(itens.get(itens.size() - 1))));
+        }
+        return resposta.body(itens);
+    }
+
+    // true quando a pagina pedida segue a ordem natural (id crescente) de uma lista em cache
+    public static boolean ordenadoPorId(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        Sort.Order ordem = sort.getOrderFor("id");
+        return ordem != null && ordem.isAscending() && sort.stream().count() == 1;
+    }
+
+    // Pagina de uma lista completa ja ordenada por id
+    public static <T> Page<T> fatiar(List<T> ordenadosPorId, Pageable pageable) {
+        int inicio = (int) Math.min(pageable.getOffset(), ordenadosPorId.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), ordenadosPorId.size());
+        return new PageImpl<>(ordenadosPorId.subList(inicio, fim), pageable, ordenadosPorId.size());
+    }
+
+    // Equivalente em memoria de findByIdGreaterThanOrderByIdAsc (busca binaria pelo cursor)
+    public static <T> List<T> aposId(List<T> ordenadosPorId, long afterId, int limite, Function<T, Long> id) {
+        int baixo = 0;
+        int alto = ordenadosPorId.size();
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (id.apply(ordenadosPorId.get(meio)) <= afterId) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return ordenadosPorId.subList(baixo, Math.min(baixo + limite, ordenadosPorId.size()));
+    }
+}
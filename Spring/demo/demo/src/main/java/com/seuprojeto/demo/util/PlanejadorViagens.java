@@ -0,0 +1,257 @@
+package com.seuprojeto.demo.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.ParadaDTO;
+import com.seuprojeto.demo.model.PlanoDiarioDTO;
+import com.seuprojeto.demo.model.ViagemPlanejadaDTO;
+
+/**
+ * Monta o plano de viagens de um dia em duas fases:
+ *
+ * 1. Por regiao (bairro), em paralelo num ForkJoinPool: agrupa os clientes por horario da van
+ *    e destino e ordena cada grupo por prioridade (alta > media > baixa, grupo vulneravel
+ *    desempata).
+ * 2. Por horario: cada ambulancia faz no maximo uma viagem por horario. Os clientes de um mesmo
+ *    destino sao consolidados e embarcados por prioridade com best-fit: a menor ambulancia que
+ *    leva todos os restantes ou, se nenhuma leva, a maior livre. Dentro da viagem as paradas
+ *    seguem agrupadas por bairro. Quem nao couber fica em naoAlocados.
+ */
+public class PlanejadorViagens {
+
+    private static final String SEM_BAIRRO = "sem_bairro";
+    private static final String SEM_HORARIO = "sem_horario";
+    private static final String SEM_DESTINO = "sem_destino";
+
+    private final ForkJoinPool pool;
+
+    public PlanejadorViagens(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public PlanoDiarioDTO planejar(LocalDate data, List<Cliente> clientes, List<Ambulancia> ambulancias) {
+        PlanoDiarioDTO plano = new PlanoDiarioDTO(data);
+        plano.setTotalClientes(clientes.size());
+
+        Map<String, List<Cliente>> porBairro = new TreeMap<>();
+        for (Cliente cliente : clientes) {
+            porBairro.computeIfAbsent(chave(cliente.getBairro(), SEM_BAIRRO), b -> new ArrayList<>()).add(cliente);
+        }
+        List<Grupo> grupos = pool.invoke(new AgruparRegioes(new ArrayList<>(porBairro.entrySet())));
+
+        // horario -> destino -> grupos, com horarios e destinos em ordem estavel
+        Map<String, Map<String, List<Grupo>>> porHorario = new TreeMap<>();
+        for (Grupo grupo : grupos) {
+            porHorario.computeIfAbsent(grupo.horario, h -> new TreeMap<>())
+                    .computeIfAbsent(grupo.destino, d -> new ArrayList<>())
+                    .add(grupo);
+        }
+
+        List<Ambulancia> frota = new ArrayList<>();
+        for (Ambulancia ambulancia : ambulancias) {
+            if (capacidade(ambulancia) > 0) {
+                frota.add(ambulancia);
+            }
+        }
+        frota.sort(Comparator.comparingInt(PlanejadorViagens::capacidade).thenComparing(Ambulancia::getId));
+        int maiorCapacidade = frota.isEmpty() ? 0 : capacidade(frota.get(frota.size() - 1));
+
+        for (Map<String, List<Grupo>> porDestino : porHorario.values()) {
+            List<Ambulancia> livres = new ArrayList<>(frota);
+            List<List<Grupo>> destinos = new ArrayList<>(porDestino.values());
+            destinos.sort(Comparator.comparingInt(PlanejadorViagens::pesoMaximo).reversed());
+            for (List<Grupo> gruposDestino : destinos) {
+                distribuir(gruposDestino, livres, maiorCapacidade, plano);
+            }
+        }
+
+        plano.setClientesAlocados(plano.getTotalClientes() - plano.getNaoAlocados().size());
+        return plano;
+    }
+
+    private void distribuir(List<Grupo> gruposDestino, List<Ambulancia> livres, int maiorCapacidade, PlanoDiarioDTO plano) {
+        // Embarque escolhido por prioridade em todo o destino; a ordem de coleta agrupa por bairro
+        gruposDestino.sort(Comparator.comparingInt((Grupo g) -> g.peso).reversed().thenComparing(g -> g.bairro));
+        Map<String, Integer> ordemBairro = new HashMap<>();
+        LinkedList<Cliente> fila = new LinkedList<>();
+        for (Grupo grupo : gruposDestino) {
+            ordemBairro.put(grupo.bairro, ordemBairro.size());
+            fila.addAll(grupo.clientes);
+        }
+        fila.sort(Comparator.comparingInt(PlanejadorViagens::peso).reversed());
+
+        Iterator<Cliente> grandes = fila.iterator();
+        while (grandes.hasNext()) {
+            Cliente cliente = grandes.next();
+            if (vagas(cliente) > maiorCapacidade) {
+                plano.getNaoAlocados().add(parada(0, cliente));
+                grandes.remove();
+            }
+        }
+
+        Grupo referencia = gruposDestino.get(0);
+        while (!fila.isEmpty()) {
+            int necessarias = 0;
+            int menor = Integer.MAX_VALUE;
+            for (Cliente cliente : fila) {
+                necessarias += vagas(cliente);
+                menor = Math.min(menor, vagas(cliente));
+            }
+            // Sem ambulancia livre, ou a maior livre nao leva nenhum dos restantes: nao gera viagem vazia
+            if (livres.isEmpty() || capacidade(livres.get(livres.size() - 1)) < menor) {
+                for (Cliente cliente : fila) {
+                    plano.getNaoAlocados().add(parada(0, cliente));
+                }
+                return;
+            }
+            Ambulancia ambulancia = escolher(livres, necessarias);
+            livres.remove(ambulancia);
+
+            ViagemPlanejadaDTO viagem = new ViagemPlanejadaDTO(ambulancia.getId(), ambulancia.getPlaca(),
+                    capacidade(ambulancia), referencia.horario, referencia.destino);
+            int restantes = capacidade(ambulancia);
+            List<Cliente> embarcados = new ArrayList<>();
+            Iterator<Cliente> it = fila.iterator();
+            while (it.hasNext() && restantes > 0) {
+                Cliente cliente = it.next();
+                int vagas = vagas(cliente);
+                if (vagas <= restantes) {
+                    embarcados.add(cliente);
+                    restantes -= vagas;
+                    it.remove();
+                }
+            }
+            embarcados.sort(Comparator.comparingInt(c -> ordemBairro.get(chave(c.getBairro(), SEM_BAIRRO))));
+            for (Cliente cliente : embarcados) {
+                viagem.getParadas().add(parada(viagem.getParadas().size() + 1, cliente));
+                String bairro = chave(cliente.getBairro(), SEM_BAIRRO);
+                if (!viagem.getBairros().contains(bairro)) {
+                    viagem.getBairros().add(bairro);
+                }
+            }
+            viagem.setOcupacao(capacidade(ambulancia) - restantes);
+            plano.getViagens().add(viagem);
+        }
+    }
+
+    // Best-fit: menor ambulancia que comporta todas as vagas; senao a maior disponivel
+    private static Ambulancia escolher(List<Ambulancia> livres, int necessarias) {
+        for (Ambulancia ambulancia : livres) {
+            if (capacidade(ambulancia) >= necessarias) {
+                return ambulancia;
+            }
+        }
+        return livres.get(livres.size() - 1);
+    }
+
+    private static class AgruparRegioes extends RecursiveTask<List<Grupo>> {
+
+        private final List<Map.Entry<String, List<Cliente>>> regioes;
+
+        AgruparRegioes(List<Map.Entry<String, List<Cliente>>> regioes) {
+            this.regioes = regioes;
+        }
+
+        @Override
+        protected List<Grupo> compute() {
+            if (regioes.size() == 1) {
+                return agrupar(regioes.get(0).getKey(), regioes.get(0).getValue());
+            }
+            if (regioes.isEmpty()) {
+                return new ArrayList<>();
+            }
+            int meio = regioes.size() / 2;
+            AgruparRegioes esquerda = new AgruparRegioes(regioes.subList(0, meio));
+            AgruparRegioes direita = new AgruparRegioes(regioes.subList(meio, regioes.size()));
+            esquerda.fork();
+            List<Grupo> resultado = new ArrayList<>(direita.compute());
+            resultado.addAll(0, esquerda.join());
+            return resultado;
+        }
+    }
+
+    private static List<Grupo> agrupar(String bairro, List<Cliente> clientes) {
+        Map<String, Grupo> grupos = new LinkedHashMap<>();
+        for (Cliente cliente : clientes) {
+            String horario = chave(cliente.getHorarioVan(), SEM_HORARIO);
+            String destino = chave(cliente.getDestino(), SEM_DESTINO);
+            grupos.computeIfAbsent(horario + '|' + destino, k -> new Grupo(bairro, horario, destino))
+                    .clientes.add(cliente);
+        }
+        Comparator<Cliente> ordem = Comparator.comparingInt(PlanejadorViagens::peso).reversed()
+                .thenComparing(Cliente::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+        for (Grupo grupo : grupos.values()) {
+            grupo.clientes.sort(ordem);
+            grupo.peso = peso(grupo.clientes.get(0));
+        }
+        return new ArrayList<>(grupos.values());
+    }
+
+    private static class Grupo {
+        final String bairro;
+        final String horario;
+        final String destino;
+        final List<Cliente> clientes = new ArrayList<>();
+        int peso;
+
+        Grupo(String bairro, String horario, String destino) {
+            this.bairro = bairro;
+            this.horario = horario;
+            this.destino = destino;
+        }
+    }
+
+    static int peso(Cliente cliente) {
+        int peso = 0;
+        String prioridade = cliente.getPrioridadeSaude();
+        if (prioridade != null) {
+            switch (prioridade.trim().toLowerCase(Locale.ROOT)) {
+                case "alta" -> peso = 6;
+                case "media", "média" -> peso = 4;
+                case "baixa" -> peso = 2;
+                default -> peso = 0;
+            }
+        }
+        return cliente.getGrupoVulneravel() != null && !cliente.getGrupoVulneravel().isBlank() ? peso + 1 : peso;
+    }
+
+    private static int pesoMaximo(List<Grupo> grupos) {
+        int maximo = 0;
+        for (Grupo grupo : grupos) {
+            maximo = Math.max(maximo, grupo.peso);
+        }
+        return maximo;
+    }
+
+    private static int vagas(Cliente cliente) {
+        Integer vagas = cliente.getVagas();
+        return vagas != null && vagas > 0 ? vagas : 1;
+    }
+
+    private static int capacidade(Ambulancia ambulancia) {
+        return ambulancia.getCapacidade() != null ? ambulancia.getCapacidade() : 0;
+    }
+
+    private static String chave(String valor, String padrao) {
+        return valor == null || valor.isBlank() ? padrao : valor.trim();
+    }
+
+    private static ParadaDTO parada(int ordem, Cliente cliente) {
+        return new ParadaDTO(ordem, cliente.getId(), cliente.getNome(), cliente.getEndereco(),
+                cliente.getBairro(), vagas(cliente), cliente.getPrioridadeSaude());
+    }
+}
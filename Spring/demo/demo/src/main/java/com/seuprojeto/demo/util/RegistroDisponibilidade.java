@@ -0,0 +1,86 @@
+package com.seuprojeto.demo.util;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids disponiveis para despacho, sem locks. O mapa diz quem esta livre e desde qual liberacao
+ * (geracao); a fila da a ordem (quem ficou livre ha mais tempo sai primeiro). Reservar e remover
+ * do mapa: so uma thread consegue, entao duas nunca levam o mesmo id. Cada liberacao entra na
+ * fila com a sua geracao, e entradas que ja nao batem com o mapa (removidas, reservadas por outro
+ * caminho ou de uma liberacao anterior do mesmo id) sao descartadas ao passar por elas.
+ */
+public class RegistroDisponibilidade {
+
+    // Entradas obsoletas toleradas na fila, alem de uma por id livre, antes de compactar
+    private static final int FOLGA_OBSOLETAS = 64;
+
+    private record Entrada(long id, long geracao) {}
+
+    private final Map<Long, Long> livres = new ConcurrentHashMap<>();
+    private final Queue<Entrada> ordem = new ConcurrentLinkedQueue<>();
+    private final AtomicLong geracoes = new AtomicLong();
+    private final AtomicInteger obsoletas = new AtomicInteger();
+
+    public void liberar(long id) {
+        long geracao = geracoes.incrementAndGet();
+        if (livres.putIfAbsent(id, geracao) == null) {
+            ordem.offer(new Entrada(id, geracao));
+        }
+    }
+
+    // true se o id estava livre e agora e de quem chamou
+    public boolean reservar(long id) {
+        return sair(id);
+    }
+
+    // Proximo id livre, ja reservado; null se nao houver
+    public Long reservarProximo() {
+        Entrada entrada;
+        while ((entrada = ordem.poll()) != null) {
+            if (livres.remove(entrada.id(), entrada.geracao())) {
+                return entrada.id();
+            }
+            obsoletas.updateAndGet(n -> Math.max(0, n - 1));
+        }
+        return null;
+    }
+
+    public void remover(long id) {
+        sair(id);
+    }
+
+    public void limpar() {
+        livres.clear();
+        ordem.clear();
+        obsoletas.set(0);
+    }
+
+    public boolean isLivre(long id) {
+        return livres.containsKey(id);
+    }
+
+    public int tamanho() {
+        return livres.size();
+    }
+
+    int entradasNaFila() {
+        return ordem.size();
+    }
+
+    // A entrada do id na fila fica obsoleta; sem despachos elas se acumulariam, entao compacta
+    private boolean sair(long id) {
+        if (livres.remove(id) == null) {
+            return false;
+        }
+        if (obsoletas.incrementAndGet() > livres.size() + FOLGA_OBSOLETAS) {
+            obsoletas.set(0);
+            ordem.removeIf(entrada -> !Long.valueOf(entrada.geracao()).equals(livres.get(entrada.id())));
+        }
+        return true;
+    }
+}
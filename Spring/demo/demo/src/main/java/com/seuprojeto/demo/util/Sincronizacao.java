@@ -0,0 +1,78 @@
+package com.seuprojeto.demo.util;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.seuprojeto.demo.model.EstadoTabela;
+
+/**
+ * ETags fracos das listagens. O ETag sai do estado da tabela (quantidade de linhas e ultima
+ * alteracao) mais os parametros da consulta, entao e calculado sem carregar as linhas; se o
+ * cliente ja tem a mesma versao, a resposta e 304 sem corpo.
+ */
+public final class Sincronizacao {
+
+    private Sincronizacao() {}
+
+    public static String etag(EstadoTabela estado, Object... variantes) {
+        return etag(estado.getTotal() != null ? estado.getTotal() : 0L, estado.getUltimaAlteracao(), variantes);
+    }
+
+    // Para listas ja em memoria (ex.: dados de referencia em cache)
+    public static <T> String etag(List<T> itens, Function<T, Instant> atualizadoEm, Object... variantes) {
+        Instant ultima = null;
+        for (T item : itens) {
+            Instant instante = atualizadoEm.apply(item);
+            if (instante != null && (ultima == null || instante.isAfter(ultima))) {
+                ultima = instante;
+            }
+        }
+        return etag(itens.size(), ultima, variantes);
+    }
+
+    public static String etag(long total, Instant ultimaAlteracao, Object... variantes) {
+        long marca = ultimaAlteracao != null ? ultimaAlteracao.toEpochMilli() * 1000 + ultimaAlteracao.getNano() / 1000 % 1000 : 0;
+        return "W/\"" + Long.toHexString(total) + '-' + Long.toHexString(marca) + '-'
+                + Integer.toHexString(Arrays.deepHashCode(variantes)) + '"';
+    }
+
+    // 304 quando If-None-Match ja contem o ETag; senao monta a resposta e anexa o ETag.
+    // no-cache substitui o no-store padrao do Spring Security para o navegador poder revalidar.
+    public static <T> ResponseEntity<T> condicional(String ifNoneMatch, String etag, Supplier<ResponseEntity<T>> resposta) {
+        if (corresponde(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        ResponseEntity<T> corpo = resposta.get();
+        return ResponseEntity.status(corpo.getStatusCode())
+                .headers(corpo.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(corpo.getBody());
+    }
+
+    // Comparacao fraca (RFC 9110): ignora o prefixo W/ dos dois lados
+    static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String esperado = semPrefixoFraco(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || semPrefixoFraco(valor).equals(esperado)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String semPrefixoFraco(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
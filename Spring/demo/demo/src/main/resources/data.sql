@@ -2,9 +2,11 @@
 -- Passwords are encoded with BCrypt (all passwords are '123456')
 
 DELETE FROM usuario;
+DELETE FROM hospital_especialidade;
 DELETE FROM hospital;
 DELETE FROM ambulancia;
 DELETE FROM motorista;
+DELETE FROM viagem;
 DELETE FROM cliente;
 
 INSERT INTO usuario (nome, email, senha, role) VALUES
@@ -13,9 +15,21 @@ INSERT INTO usuario (nome, email, senha, role) VALUES
 ('Motorista User', 'motorista@test.com', '$2a$10$8K3ds.9Xp/6Hk5qoVSkTqeS0NSuEpfFkJ8mBh9Yz1U2ZrJDcR1QyO', 'MOTORISTA');
 
 -- Default hospitals
-INSERT INTO hospital (nome, endereco, especialidades) VALUES
-('Hospital Central', 'Rua Principal, 123', 'Cardiologia,Ortopedia,Emergência'),
-('Hospital Municipal', 'Av. Saúde, 456', 'Pediatria,Ginecologia,Clínica Geral');
+INSERT INTO hospital (nome, endereco) VALUES
+('Hospital Central', 'Rua Principal, 123'),
+('Hospital Municipal', 'Av. Saúde, 456');
+
+INSERT INTO hospital_especialidade (hospital_id, especialidade)
+SELECT h.id, e.especialidade
+FROM hospital h
+JOIN (VALUES
+    ('Hospital Central', 'Cardiologia'),
+    ('Hospital Central', 'Ortopedia'),
+    ('Hospital Central', 'Emergência'),
+    ('Hospital Municipal', 'Pediatria'),
+    ('Hospital Municipal', 'Ginecologia'),
+    ('Hospital Municipal', 'Clínica Geral')
+) AS e(hospital, especialidade) ON e.hospital = h.nome;
 
 -- Default ambulances
 INSERT INTO ambulancia (placa, modelo, capacidade, status) VALUES
@@ -34,3 +48,10 @@ INSERT INTO cliente (cartao, tipo, horario_van, data_nascimento, data_atendiment
 ('CART001', 'Consulta', '08:00', '1980-05-15', '2024-01-15', 'Ana Costa', 'Rua das Flores, 100', 'Centro', '(11) 88888-0001', 'Hospital Central', '09:00', 1, 'Cardiologia', false, 'alta', 'telemedicina', 'idoso', 'veiculo_eletrico'),
 ('CART002', 'Exame', '10:00', '1975-03-20', '2024-01-15', 'Carlos Lima', 'Av. Brasil, 200', 'Zona Norte', '(11) 88888-0002', 'Hospital Municipal', '11:00', 1, 'Raio-X', false, 'media', 'monitoramento_remoto', 'deficiente', 'otimizacao_rotas'),
 ('CART003', 'Tratamento', '14:00', '1990-08-10', '2024-01-16', 'Beatriz Souza', 'Rua Verde, 300', 'Zona Sul', '(11) 88888-0003', 'Hospital Central', '15:00', 2, 'Fisioterapia', true, 'baixa', 'tecnologia_assistiva', 'baixa_renda', 'veiculo_eletrico');
+
+-- Viagem pendente (ou atendida) de cada paciente na sua data de atendimento
+INSERT INTO viagem (id, cliente_id, data_atendimento, horario_van, horario_atendimento, destino, vagas, atendido)
+SELECT nextval('viagem_seq'), c.id, c.data_atendimento, c.horario_van, c.horario_atendimento, c.destino, c.vagas, COALESCE(c.atendido, FALSE)
+FROM cliente c
+WHERE c.data_atendimento IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM viagem v WHERE v.cliente_id = c.id AND v.data_atendimento = c.data_atendimento);
@@ -36,8 +36,7 @@ CREATE TABLE IF NOT EXISTS ambulancia (
 CREATE TABLE IF NOT EXISTS hospital (
     id BIGSERIAL PRIMARY KEY,
     nome VARCHAR(255) NOT NULL,
-    endereco VARCHAR(500) NOT NULL,
-    especialidades TEXT
+    endereco VARCHAR(500) NOT NULL
 );
 
 -- Table for Cliente (Patients/Clients)
@@ -66,8 +65,83 @@ CREATE TABLE IF NOT EXISTS cliente (
     transporte_sustentavel VARCHAR(255)  -- ODS 11: Sustainable Cities
 );
 
+-- Ids de cliente vem de cliente_seq (incremento 50, igual ao allocationSize da entidade).
+-- O setval nunca recua a sequencia e garante valores acima dos ids ja existentes.
+CREATE SEQUENCE IF NOT EXISTS cliente_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('cliente_seq', GREATEST((SELECT last_value FROM cliente_seq), (SELECT COALESCE(MAX(id), 0) FROM cliente) + 50));
+ALTER TABLE cliente ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cliente ALTER COLUMN id SET DEFAULT nextval('cliente_seq');
+
 -- Indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_cliente_data_nascimento ON cliente(data_nascimento);
 CREATE INDEX IF NOT EXISTS idx_cliente_atendido ON cliente(atendido);
+CREATE INDEX IF NOT EXISTS idx_cliente_data_atendimento ON cliente(data_atendimento);
+CREATE INDEX IF NOT EXISTS idx_cliente_nome ON cliente(nome);
+CREATE INDEX IF NOT EXISTS idx_usuario_role ON usuario(role);
 CREATE INDEX IF NOT EXISTS idx_motorista_regiao_atuacao ON motorista(regiao_atuacao);
 CREATE INDEX IF NOT EXISTS idx_ambulancia_status ON ambulancia(status);
+-- Busca de ambulancias disponiveis por bounding box (/ambulancias/proximas?fonte=banco)
+CREATE INDEX IF NOT EXISTS idx_ambulancia_disponivel_posicao ON ambulancia(latitude, longitude) WHERE status = 'disponivel';
+
+-- Versao (lock otimista) e ultima alteracao, usadas nos ETags e no ?since= das listagens.
+-- Os defaults cobrem linhas antigas e os INSERTs do data.sql.
+ALTER TABLE cliente ADD COLUMN IF NOT EXISTS versao BIGINT;
+ALTER TABLE cliente ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE cliente ALTER COLUMN versao SET DEFAULT 0;
+ALTER TABLE cliente ALTER COLUMN atualizado_em SET DEFAULT CURRENT_TIMESTAMP;
+UPDATE cliente SET versao = 0 WHERE versao IS NULL;
+UPDATE cliente SET atualizado_em = CURRENT_TIMESTAMP WHERE atualizado_em IS NULL;
+CREATE INDEX IF NOT EXISTS idx_cliente_atualizado_em ON cliente(atualizado_em);
+
+-- Busca aproximada (/clientes/busca): trigramas sobre nome, cartao, telefone (so digitos) e bairro.
+-- A expressao tem de ser a mesma de ClienteRepository.TEXTO_BUSCA para o indice ser usado.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_cliente_busca_trgm ON cliente USING gin ((lower(coalesce(nome, '') || ' ' || coalesce(cartao, '') || ' ' || regexp_replace(coalesce(telefone, ''), '[^0-9]', '', 'g') || ' ' || coalesce(bairro, ''))) gin_trgm_ops);
+
+ALTER TABLE ambulancia ADD COLUMN IF NOT EXISTS versao BIGINT;
+ALTER TABLE ambulancia ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE ambulancia ALTER COLUMN versao SET DEFAULT 0;
+ALTER TABLE ambulancia ALTER COLUMN atualizado_em SET DEFAULT CURRENT_TIMESTAMP;
+UPDATE ambulancia SET versao = 0 WHERE versao IS NULL;
+UPDATE ambulancia SET atualizado_em = CURRENT_TIMESTAMP WHERE atualizado_em IS NULL;
+CREATE INDEX IF NOT EXISTS idx_ambulancia_atualizado_em ON ambulancia(atualizado_em);
+
+ALTER TABLE motorista ADD COLUMN IF NOT EXISTS versao BIGINT;
+ALTER TABLE motorista ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE motorista ALTER COLUMN versao SET DEFAULT 0;
+ALTER TABLE motorista ALTER COLUMN atualizado_em SET DEFAULT CURRENT_TIMESTAMP;
+UPDATE motorista SET versao = 0 WHERE versao IS NULL;
+UPDATE motorista SET atualizado_em = CURRENT_TIMESTAMP WHERE atualizado_em IS NULL;
+CREATE INDEX IF NOT EXISTS idx_motorista_atualizado_em ON motorista(atualizado_em);
+
+ALTER TABLE hospital ADD COLUMN IF NOT EXISTS versao BIGINT;
+ALTER TABLE hospital ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE hospital ALTER COLUMN versao SET DEFAULT 0;
+ALTER TABLE hospital ALTER COLUMN atualizado_em SET DEFAULT CURRENT_TIMESTAMP;
+UPDATE hospital SET versao = 0 WHERE versao IS NULL;
+UPDATE hospital SET atualizado_em = CURRENT_TIMESTAMP WHERE atualizado_em IS NULL;
+CREATE INDEX IF NOT EXISTS idx_hospital_atualizado_em ON hospital(atualizado_em);
+
+-- Especialidades normalizadas (uma linha por especialidade). A antiga coluna de texto
+-- separada por virgulas e migrada uma vez e removida.
+CREATE TABLE IF NOT EXISTS hospital_especialidade (
+    hospital_id BIGINT NOT NULL REFERENCES hospital(id),
+    especialidade VARCHAR(255) NOT NULL,
+    PRIMARY KEY (hospital_id, especialidade)
+);
+ALTER TABLE hospital ADD COLUMN IF NOT EXISTS especialidades TEXT;
+INSERT INTO hospital_especialidade (hospital_id, especialidade)
+SELECT DISTINCT h.id, TRIM(e.especialidade)
+FROM hospital h CROSS JOIN LATERAL regexp_split_to_table(h.especialidades, ',') AS e(especialidade)
+WHERE TRIM(e.especialidade) <> ''
+ON CONFLICT DO NOTHING;
+ALTER TABLE hospital DROP COLUMN IF EXISTS especialidades;
+
+-- Ids excluidos (tombstones) para o ?since=; limpos apos sincronizacao.exclusoes.retencao
+CREATE TABLE IF NOT EXISTS exclusao (
+    id BIGSERIAL PRIMARY KEY,
+    entidade VARCHAR(50) NOT NULL,
+    entidade_id BIGINT NOT NULL,
+    excluido_em TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_exclusao_entidade_excluido_em ON exclusao(entidade, excluido_em);
@@ -0,0 +1,16 @@
+// As listagens da API vem paginadas (100 por padrao). Para as telas que precisam da lista
+// inteira, segue o cursor X-Next-Cursor (afterId) ate a ultima pagina.
+async function buscarTodos(url, tamanho = 1000) {
+    const separador = url.includes('?') ? '&' : '?';
+    let itens = [];
+    let cursor = 0;
+    while (cursor !== null) {
+        const res = await fetch(`${url}${separador}afterId=${cursor}&size=${tamanho}`);
+        if (!res.ok) {
+            throw new Error(`Erro ${res.status} ao buscar ${url}`);
+        }
+        itens = itens.concat(await res.json());
+        cursor = res.headers.get('X-Next-Cursor');
+    }
+    return itens;
+}
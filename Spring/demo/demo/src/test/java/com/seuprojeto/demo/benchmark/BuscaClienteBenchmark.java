@@ -0,0 +1,69 @@
+package com.seuprojeto.demo.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.seuprojeto.demo.util.IndiceTrigramas;
+
+/**
+ * Latencia da busca aproximada de clientes no indice de trigramas em memoria (primeira pagina
+ * de 20), com pacientes sinteticos: nome com erro de digitacao, cartao exato e trecho de telefone.
+ *
+ * Para executar: rode o main desta classe com o classpath de teste (mvn test-compile antes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaClienteBenchmark {
+
+    private static final String[] NOMES = { "Maria", "Jose", "Ana", "Joao", "Antonio", "Francisca", "Carlos", "Paulo", "Lucas", "Juliana" };
+    private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes" };
+    private static final String[] BAIRROS = { "Centro", "Zona Sul", "Zona Norte", "Vila Nova", "Jardim America", "Bela Vista" };
+
+    @Param({ "100000", "1000000" })
+    private int pacientes;
+
+    @Param({ "maria slva", "CART123456", "98765" })
+    private String consulta;
+
+    private IndiceTrigramas indice;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        indice = new IndiceTrigramas();
+        for (int i = 0; i < pacientes; i++) {
+            String texto = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                    + " CART" + i + " 119" + (10000000 + random.nextInt(90000000))
+                    + " " + BAIRROS[random.nextInt(BAIRROS.length)];
+            indice.atualizar(i, texto);
+        }
+    }
+
+    @Benchmark
+    public IndiceTrigramas.Pagina buscar() {
+        return indice.buscar(consulta, 0.4, 0, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BuscaClienteBenchmark.class.getSimpleName()).build()).run();
+    }
+}
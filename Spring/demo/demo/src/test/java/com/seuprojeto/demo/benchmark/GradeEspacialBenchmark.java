@@ -0,0 +1,88 @@
+package com.seuprojeto.demo.benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.seuprojeto.demo.util.GradeEspacial;
+
+/**
+ * Latencia media da busca dos 5 vizinhos mais proximos na grade espacial contra a varredura
+ * completa da frota, com veiculos sinteticos espalhados pela regiao metropolitana de SP.
+ *
+ * Para executar: rode o main desta classe com o classpath de teste (mvn test-compile antes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeEspacialBenchmark {
+
+    @Param({ "10000", "50000" })
+    private int veiculos;
+
+    private GradeEspacial grade;
+    private double[][] posicoes;
+    private double[][] consultas;
+    private int proxima;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        grade = new GradeEspacial(0.01);
+        posicoes = new double[veiculos][];
+        for (int i = 0; i < veiculos; i++) {
+            posicoes[i] = new double[] { -23.55 + random.nextGaussian() * 0.3, -46.63 + random.nextGaussian() * 0.3 };
+            grade.atualizar(i, posicoes[i][0], posicoes[i][1]);
+        }
+        consultas = new double[1024][];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = new double[] { -23.55 + random.nextGaussian() * 0.3, -46.63 + random.nextGaussian() * 0.3 };
+        }
+    }
+
+    @Benchmark
+    public List<GradeEspacial.Vizinho> grade() {
+        double[] consulta = consultas[proxima++ & 1023];
+        return grade.maisProximos(consulta[0], consulta[1], 5, 0);
+    }
+
+    @Benchmark
+    public PriorityQueue<double[]> varreduraCompleta() {
+        double[] consulta = consultas[proxima++ & 1023];
+        PriorityQueue<double[]> melhores = new PriorityQueue<>(5, Comparator.comparingDouble((double[] d) -> d[1]).reversed());
+        for (int i = 0; i < posicoes.length; i++) {
+            double distancia = GradeEspacial.distanciaKm(consulta[0], consulta[1], posicoes[i][0], posicoes[i][1]);
+            if (melhores.size() < 5) {
+                melhores.add(new double[] { i, distancia });
+            } else if (distancia < melhores.peek()[1]) {
+                melhores.poll();
+                melhores.add(new double[] { i, distancia });
+            }
+        }
+        return melhores;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GradeEspacialBenchmark.class.getSimpleName()).build()).run();
+    }
+}
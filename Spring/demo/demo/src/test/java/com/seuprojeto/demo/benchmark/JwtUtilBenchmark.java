@@ -0,0 +1,109 @@
+package com.seuprojeto.demo.benchmark;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.seuprojeto.demo.config.JwtProperties;
+import com.seuprojeto.demo.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Tokens/s de geracao e validacao: o JwtUtil atual (chave e parser criados uma vez)
+ * contra a implementacao anterior, que recriava a chave HMAC e o JwtParser a cada chamada.
+ *
+ * Para executar: rode o main desta classe com o classpath de teste (mvn test-compile antes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJwtTokenGenerationThatIsLongEnough";
+
+    private JwtUtil jwtUtil;
+    private UserDetails usuario;
+    private String token;
+    private String tokenLegado;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        jwtUtil = new JwtUtil(properties);
+        usuario = User.withUsername("admin@test.com").password("").roles("ADMIN").build();
+        token = jwtUtil.generateToken(usuario);
+        tokenLegado = gerarLegado(usuario.getUsername());
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return jwtUtil.validarToken(token);
+    }
+
+    @Benchmark
+    public String gerarTokenLegado() {
+        return gerarLegado(usuario.getUsername());
+    }
+
+    // Como o filtro fazia antes: extractUsername e validateToken, cada um com seu parse
+    @Benchmark
+    public boolean validarTokenLegado() {
+        String username = parseLegado(tokenLegado).getSubject();
+        return username.equals(usuario.getUsername()) && !parseLegado(tokenLegado).getExpiration().before(new Date());
+    }
+
+    private static Key chaveLegada() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    }
+
+    private static Claims parseLegado(String jwt) {
+        return Jwts.parserBuilder().setSigningKey(chaveLegada()).build().parseClaimsJws(jwt).getBody();
+    }
+
+    private static String gerarLegado(String subject) {
+        return Jwts.builder()
+                .setClaims(Map.of(JwtUtil.ROLES_CLAIM, List.of("ROLE_ADMIN")))
+                .setSubject(subject)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(chaveLegada(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
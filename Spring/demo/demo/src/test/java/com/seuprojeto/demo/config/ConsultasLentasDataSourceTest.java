@@ -0,0 +1,65 @@
+package com.seuprojeto.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import com.seuprojeto.demo.config.ConsultasLentasDataSource.ConsultaLenta;
+
+class ConsultasLentasDataSourceTest {
+
+    private final List<ConsultaLenta> registradas = new ArrayList<>();
+
+    private ConsultasLentasDataSource dataSource(Duration limiar) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:lentas;DB_CLOSE_DELAY=-1");
+        return new ConsultasLentasDataSource(h2, limiar, registradas::add);
+    }
+
+    @AfterEach
+    void limparMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void registraSqlParametrosEEndpointAcimaDoLimiar() throws Exception {
+        MDC.put(ConsultasLentasDataSource.MDC_ENDPOINT, "GET /clientes");
+        try (Connection conexao = dataSource(Duration.ZERO).getConnection();
+             PreparedStatement comando = conexao.prepareStatement("SELECT ? + ?")) {
+            comando.setInt(1, 2);
+            comando.setInt(2, 3);
+            try (ResultSet resultado = comando.executeQuery()) {
+                assertTrue(resultado.next());
+                assertEquals(5, resultado.getInt(1));
+            }
+            conexao.createStatement().execute("SELECT 1");
+        }
+
+        assertEquals(2, registradas.size());
+        assertEquals(new ConsultaLenta("SELECT ? + ?", 2, registradas.get(0).milissegundos(), "GET /clientes"), registradas.get(0));
+        assertEquals("SELECT 1", registradas.get(1).sql());
+        assertEquals(0, registradas.get(1).parametros());
+    }
+
+    @Test
+    void consultasRapidasNaoSaoRegistradas() throws Exception {
+        try (Connection conexao = dataSource(Duration.ofHours(1)).getConnection();
+             PreparedStatement comando = conexao.prepareStatement("SELECT ?")) {
+            comando.setLong(1, 1L);
+            comando.executeQuery().close();
+        }
+
+        assertTrue(registradas.isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package com.seuprojeto.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Motorista;
+import com.seuprojeto.demo.repository.MotoristaRepository;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class ContadorSqlTest {
+
+    @Autowired
+    private MotoristaRepository motoristaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void contaOsComandosDaThreadEApontaOSelectRepetido() {
+        Long id = motoristaRepository.save(new Motorista("Joao", "12345678900", "(11) 90000-0000", "Centro")).getId();
+        entityManager.flush();
+
+        ContadorSql.iniciar();
+        for (int i = 0; i < 5; i++) {
+            entityManager.clear();
+            motoristaRepository.findById(id);
+        }
+        motoristaRepository.count();
+        ContadorSql.Resultado resultado = ContadorSql.encerrar();
+
+        assertEquals(6, resultado.total());
+        assertEquals(5, resultado.repeticoes());
+        assertTrue(resultado.selectMaisRepetido().toLowerCase().contains("from motorista"));
+    }
+
+    @Test
+    void foraDeUmaContagemNadaERegistrado() {
+        motoristaRepository.count();
+
+        ContadorSql.Resultado resultado = ContadorSql.encerrar();
+
+        assertEquals(0, resultado.total());
+        assertNull(resultado.selectMaisRepetido());
+    }
+}
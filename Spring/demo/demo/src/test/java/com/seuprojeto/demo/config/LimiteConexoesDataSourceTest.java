@@ -0,0 +1,70 @@
+package com.seuprojeto.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class LimiteConexoesDataSourceTest {
+
+    private static LimiteConexoesDataSource dataSource(int limite, Duration espera) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limite;DB_CLOSE_DELAY=-1");
+        return new LimiteConexoesDataSource(h2, limite, espera);
+    }
+
+    @Test
+    void esperaEsgotadaQuandoTodasAsConexoesEstaoEmprestadas() throws Exception {
+        LimiteConexoesDataSource dataSource = dataSource(2, Duration.ofMillis(50));
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        primeira.close();
+        primeira.close();
+        assertEquals(1, dataSource.getDisponiveis());
+        dataSource.getConnection().close();
+        segunda.close();
+        assertEquals(2, dataSource.getDisponiveis());
+    }
+
+    @Test
+    void milharesDeThreadsVirtuaisNuncaPassamDoLimite() throws Exception {
+        LimiteConexoesDataSource dataSource = dataSource(4, Duration.ofSeconds(30));
+        AtomicInteger emUso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                tarefas.add(executor.submit(() -> {
+                    try (Connection conexao = dataSource.getConnection()) {
+                        maximo.accumulateAndGet(emUso.incrementAndGet(), Math::max);
+                        conexao.createStatement().execute("SELECT 1");
+                        emUso.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        assertEquals(4, dataSource.getDisponiveis());
+        assertTrue(maximo.get() <= 4);
+    }
+}
@@ -0,0 +1,147 @@
+package com.seuprojeto.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.seuprojeto.demo.service.SincronizacaoService;
+
+/**
+ * Duas instancias H2 em memoria no papel de primaria e replica; cada uma responde quem e pela
+ * tabela origem, e a replica informa o proprio atraso pela tabela atraso.
+ */
+class RoteamentoDataSourceTest {
+
+    // Replica que pode ser "desligada" para simular queda de conexao
+    private static class ReplicaDesligavel extends DelegatingDataSource {
+
+        private volatile boolean desligada = false;
+
+        ReplicaDesligavel(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (desligada) {
+                throw new SQLTransientConnectionException("replica fora do ar");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private final JdbcDataSource primaria = h2("primaria");
+    private final ReplicaDesligavel replica = new ReplicaDesligavel(h2("replica"));
+    private RoteamentoDataSource roteamento;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transacoes;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    void preparar() throws Exception {
+        preencher(primaria, "primaria");
+        preencher(replica, "replica");
+        roteamento = new RoteamentoDataSource(primaria, List.of(new RoteamentoDataSource.Replica("replica-1", replica)),
+                Duration.ofSeconds(5), "SELECT segundos FROM atraso");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        jdbc = new JdbcTemplate(dataSource);
+        transacoes = new DataSourceTransactionManager(dataSource);
+        escrita = new TransactionTemplate(transacoes);
+        leitura = new TransactionTemplate(transacoes);
+        leitura.setReadOnly(true);
+    }
+
+    @Test
+    void leiturasReadOnlyVaoParaAReplicaEEscritasParaAPrimaria() {
+        assertEquals("replica", origem(leitura));
+        assertEquals("primaria", origem(escrita));
+        assertEquals("primaria", jdbc.queryForObject("SELECT nome FROM origem", String.class));
+        assertEquals(1, roteamento.getConexoes("replica-1"));
+    }
+
+    @Test
+    void replicaAtrasadaAlemDoLimiteSaiDoRodizio() throws Exception {
+        executar(replica, "UPDATE atraso SET segundos = 30");
+        roteamento.verificarReplicas();
+        assertEquals(Duration.ofSeconds(30), roteamento.getReplicas().get(0).getAtraso());
+        assertEquals("primaria", origem(leitura));
+
+        executar(replica, "UPDATE atraso SET segundos = 0.5");
+        roteamento.verificarReplicas();
+        assertEquals("replica", origem(leitura));
+    }
+
+    @Test
+    void sincronizacaoIncrementalLeDaPrimariaMesmoComAReplicaNoRodizio() throws Exception {
+        executar(replica, "UPDATE atraso SET segundos = 3");
+        roteamento.verificarReplicas();
+        assertEquals("replica", origem(leitura));
+
+        // Mesma definicao de transacao que o proxy do Spring usa em SincronizacaoService.desde
+        Method desde = SincronizacaoService.class.getMethod("desde", String.class, Instant.class, Function.class);
+        TransactionAttribute atributo = new AnnotationTransactionAttributeSource()
+                .getTransactionAttribute(desde, SincronizacaoService.class);
+        assertEquals("primaria", origem(new TransactionTemplate(transacoes, atributo)));
+    }
+
+    @Test
+    void replicaForaDoArCaiParaAPrimariaAteAVerificacaoSeguinte() {
+        replica.desligada = true;
+        assertEquals("primaria", origem(leitura));
+        assertFalse(roteamento.getReplicas().get(0).isDisponivel());
+
+        replica.desligada = false;
+        assertEquals("primaria", origem(leitura));
+        roteamento.verificarReplicas();
+        assertTrue(roteamento.getReplicas().get(0).isDisponivel());
+        assertEquals("replica", origem(leitura));
+    }
+
+    private String origem(TransactionTemplate transacao) {
+        return transacao.execute(status -> jdbc.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private static JdbcDataSource h2(String nome) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:roteamento_" + nome + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    private static void preencher(DataSource dataSource, String nome) throws SQLException {
+        executar(dataSource, "DROP TABLE IF EXISTS origem");
+        executar(dataSource, "DROP TABLE IF EXISTS atraso");
+        executar(dataSource, "CREATE TABLE origem (nome VARCHAR(20))");
+        executar(dataSource, "INSERT INTO origem VALUES ('" + nome + "')");
+        executar(dataSource, "CREATE TABLE atraso (segundos DOUBLE PRECISION)");
+        executar(dataSource, "INSERT INTO atraso VALUES (0)");
+    }
+
+    private static void executar(DataSource dataSource, String sql) throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.createStatement().execute(sql);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.seuprojeto.demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.AmbulanciaMotoristaDTO;
+import com.seuprojeto.demo.model.Motorista;
+import com.seuprojeto.demo.model.StatusAmbulancia;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+class AmbulanciaRepositoryTest {
+
+    @Autowired
+    private AmbulanciaRepository ambulanciaRepository;
+
+    @Autowired
+    private MotoristaRepository motoristaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findAllCombinedUsaUmaConsultaIndependenteDoTamanhoDaFrota() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        criarFrota(5);
+        long consultasFrotaPequena = contarConsultas(statistics, 5);
+
+        criarFrota(95);
+        long consultasFrotaGrande = contarConsultas(statistics, 100);
+
+        assertEquals(1, consultasFrotaPequena);
+        assertEquals(consultasFrotaPequena, consultasFrotaGrande);
+    }
+
+    @Test
+    void findAllCombinedPreservaAmbulanciasSemMotorista() {
+        Motorista motorista = motoristaRepository.save(new Motorista("João Silva", "CNH-1", "(11) 99999-0001", "Centro"));
+        ambulanciaRepository.save(new Ambulancia("AAA-0001", "Fiat Ducato", 4, StatusAmbulancia.DISPONIVEL, motorista.getId(), -23.55, -46.63));
+        ambulanciaRepository.save(new Ambulancia("AAA-0002", "VW Crafter", 8, StatusAmbulancia.MANUTENCAO, null, null, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AmbulanciaMotoristaDTO> combinadas = ambulanciaRepository.findAllCombined();
+
+        assertEquals(2, combinadas.size());
+        assertEquals("João Silva", combinadas.get(0).getMotoristaNome());
+        assertEquals(null, combinadas.get(1).getMotoristaId());
+    }
+
+    private long contarConsultas(Statistics statistics, int tamanhoEsperado) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<AmbulanciaMotoristaDTO> combinadas = ambulanciaRepository.findAllCombined();
+
+        assertEquals(tamanhoEsperado, combinadas.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void criarFrota(int quantidade) {
+        long inicio = ambulanciaRepository.count();
+        for (int i = 0; i < quantidade; i++) {
+            long numero = inicio + i;
+            Motorista motorista = motoristaRepository.save(
+                new Motorista("Motorista " + numero, "CNH-" + numero, "(11) 90000-0000", "Centro"));
+            ambulanciaRepository.save(
+                new Ambulancia("PLC-" + numero, "Fiat Ducato", 4, StatusAmbulancia.DISPONIVEL, motorista.getId(), -23.55, -46.63));
+        }
+    }
+}
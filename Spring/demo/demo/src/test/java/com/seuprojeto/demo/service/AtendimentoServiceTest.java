@@ -0,0 +1,90 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.repository.ClienteRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+class AtendimentoServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private AtendimentoService atendimentoService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Clientes do dia vem das viagens, registradas pelo ClienteService; um comando por tabela
+    @Test
+    void fecharODiaDeUmBairroEUmComandoPorTabela() {
+        for (int i = 0; i < 50; i++) {
+            clienteService.salvar(cliente("Centro " + i, "Centro", DIA));
+        }
+        Cliente outroBairro = clienteService.salvar(cliente("Jardim", "Jardim", DIA));
+        Cliente outroDia = clienteService.salvar(cliente("Amanha", "Centro", DIA.plusDays(1)));
+        entityManager.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int atualizados = atendimentoService.atenderDoDia(DIA, "Centro");
+
+        assertEquals(50, atualizados);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(clienteRepository.findById(outroBairro.getId()).orElseThrow().isAtendido());
+        assertFalse(clienteRepository.findById(outroDia.getId()).orElseThrow().isAtendido());
+        assertEquals(0, atendimentoService.atenderDoDia(DIA, "Centro"));
+    }
+
+    @Test
+    void atenderPorIdsIncrementaVersaoEIgnoraJaAtendidos() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(clienteRepository.save(cliente("Cliente " + i, "Centro", DIA)).getId());
+        }
+        entityManager.flush();
+        Long versaoAntes = clienteRepository.findById(ids.get(0)).orElseThrow().getVersao();
+
+        assertEquals(2, atendimentoService.atender(List.of(ids.get(0), ids.get(1), ids.get(1))));
+        assertEquals(1, atendimentoService.atender(ids));
+
+        Cliente atendido = clienteRepository.findById(ids.get(0)).orElseThrow();
+        assertTrue(atendido.isAtendido());
+        assertEquals(versaoAntes + 1, atendido.getVersao());
+    }
+
+    private static Cliente cliente(String nome, String bairro, LocalDate dataAtendimento) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setBairro(bairro);
+        cliente.setDataAtendimento(dataAtendimento);
+        return cliente;
+    }
+}
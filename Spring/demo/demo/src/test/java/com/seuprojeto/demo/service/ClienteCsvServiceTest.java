@@ -0,0 +1,80 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.ResultadoImportacao;
+import com.seuprojeto.demo.model.ViagemDoDia;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.repository.ViagemRepository;
+
+@SpringBootTest(properties = "clientes.importacao.tamanho-lote=2")
+@Transactional
+class ClienteCsvServiceTest {
+
+    @Autowired
+    private ClienteCsvService clienteCsvService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ViagemRepository viagemRepository;
+
+    @Test
+    void importaLinhasValidasERejeitaAsInvalidas() throws Exception {
+        String csv = "nome,bairro,dataAtendimento,vagas,atendido,colunaDesconhecida\r\n"
+                + "Ana Costa,Centro,2025-03-10,1,false,x\r\n"
+                + "\"Souza, Beatriz\",\"Zona \"\"Sul\"\"\",2025-03-10,2,sim,\r\n"
+                + ",Centro,2025-03-10,1,false,\r\n"
+                + "Carlos Lima,Zona Norte,10/03/2025,1,false,\r\n"
+                + "\"Rua\nQuebrada\",Centro,,,,\r\n";
+
+        ResultadoImportacao resultado = clienteCsvService.importar(entrada(csv));
+
+        assertEquals(5, resultado.getLinhas());
+        assertEquals(3, resultado.getImportados());
+        assertEquals(2, resultado.getRejeitados());
+        assertTrue(resultado.getErros().get(0).startsWith("linha 4:"));
+        assertTrue(resultado.getErros().get(1).startsWith("linha 5:"));
+
+        List<ViagemDoDia> importados = viagemRepository.findDoDia(LocalDate.of(2025, 3, 10));
+        assertEquals(2, importados.size());
+        ViagemDoDia beatriz = importados.stream().filter(c -> c.getNome().equals("Souza, Beatriz")).findFirst().orElseThrow();
+        assertEquals("Zona \"Sul\"", beatriz.getBairro());
+        assertEquals(2, beatriz.getVagas());
+        assertTrue(beatriz.isAtendido());
+    }
+
+    @Test
+    void exportacaoPodeSerReimportada() throws Exception {
+        clienteCsvService.importar(entrada("nome,endereco,destino\r\nAna Costa,\"Rua A, 10\",Hospital Central\r\n"));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        clienteCsvService.exportar(saida);
+        String csv = saida.toString(StandardCharsets.UTF_8);
+
+        assertTrue(csv.startsWith("id,cartao,tipo,"));
+        assertTrue(csv.contains(",Ana Costa,\"Rua A, 10\","));
+        long linhas = csv.lines().count() - 1;
+        assertEquals(clienteRepository.count(), linhas);
+
+        ResultadoImportacao reimportacao = clienteCsvService.importar(entrada(csv));
+        assertEquals(linhas, reimportacao.getImportados());
+    }
+
+    private static ByteArrayInputStream entrada(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
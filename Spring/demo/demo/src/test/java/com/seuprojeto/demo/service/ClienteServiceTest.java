@@ -0,0 +1,71 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.seuprojeto.demo.config.ContadorSql;
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.ClienteAgenda;
+
+@SpringBootTest
+@Transactional
+class ClienteServiceTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Test
+    void visaoDaAgendaSelecionaSoAsColunasDaProjecao() {
+        Cliente ana = clienteService.salvar(cliente("Ana Costa", "Centro", "07:30"));
+        clienteService.salvar(cliente("Bruno Lima", "Zona Sul", "08:00"));
+
+        ContadorSql.iniciar();
+        clienteService.listarAposId(0L, 10, ClienteAgenda.class);
+        List<ClienteAgenda> agenda = clienteService.listarAposId(0L, 10, ClienteAgenda.class);
+        String sql = ContadorSql.encerrar().selectMaisRepetido().toLowerCase();
+
+        assertEquals(ana.getId(), agenda.get(0).getId());
+        assertEquals("07:30", agenda.get(0).getHorarioVan());
+        assertTrue(sql.contains("horario_van"));
+        assertFalse(sql.contains("nome_acompanhante"));
+        assertFalse(sql.contains("endereco"));
+    }
+
+    @Test
+    void camposAvulsosVemNaOrdemPedidaComOIdNaFrente() {
+        clienteService.salvar(cliente("Ana Costa", "Centro", "07:30"));
+        clienteService.salvar(cliente("Bruno Lima", "Zona Sul", "08:00"));
+
+        Page<Map<String, Object>> pagina = clienteService.listarCampos(List.of("bairro", "nome"),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "nome")));
+
+        assertEquals(2, pagina.getTotalElements());
+        Map<String, Object> primeira = pagina.getContent().get(0);
+        assertEquals(List.of("id", "bairro", "nome"), List.copyOf(primeira.keySet()));
+        assertEquals("Bruno Lima", primeira.get("nome"));
+        assertThrows(ResponseStatusException.class, () -> clienteService.listarCampos(List.of("senha"), PageRequest.of(0, 10)));
+    }
+
+    private static Cliente cliente(String nome, String bairro, String horarioVan) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setBairro(bairro);
+        cliente.setHorarioVan(horarioVan);
+        cliente.setNomeAcompanhante("Acompanhante de " + nome);
+        return cliente;
+    }
+}
@@ -0,0 +1,113 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Quantas requisicoes simultaneas o pool aguenta enquanto as respostas sao serializadas.
+ * Cada requisicao lista clientes pelo service e depois fica parada no ponto em que o Jackson
+ * escreveria a resposta; o interceptor de open-in-view e aplicado a mao, como o Spring MVC faz.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + ConexoesPorRequisicaoTest.POOL,
+        "spring.datasource.hikari.connection-timeout=250" })
+class ConexoesPorRequisicaoTest {
+
+    static final int POOL = 4;
+    private static final int REQUISICOES = 3 * POOL;
+
+    private record Carga(int concluidas, int semConexao, int conexoesDuranteSerializacao) {}
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Antes: o EntityManager da requisicao segura a conexao ate a resposta terminar
+    @Test
+    void comOpenInViewOPoolLimitaAsRequisicoesEmAndamento() throws Exception {
+        Carga carga = simular(true);
+
+        assertEquals(POOL, carga.conexoesDuranteSerializacao());
+        assertEquals(POOL, carga.concluidas());
+        assertEquals(REQUISICOES - POOL, carga.semConexao());
+    }
+
+    // Depois: a conexao volta ao pool no fim da transacao do service
+    @Test
+    void semOpenInViewTodasAsRequisicoesSeguem() throws Exception {
+        Carga carga = simular(false);
+
+        assertEquals(0, carga.conexoesDuranteSerializacao());
+        assertEquals(REQUISICOES, carga.concluidas());
+        assertEquals(0, carga.semConexao());
+    }
+
+    private Carga simular(boolean openInView) throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        CountDownLatch serializando = new CountDownLatch(REQUISICOES);
+        CountDownLatch respostasEscritas = new CountDownLatch(1);
+        AtomicInteger concluidas = new AtomicInteger();
+        AtomicInteger semConexao = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUISICOES);
+        for (int i = 0; i < REQUISICOES; i++) {
+            executor.submit(() -> {
+                ServletWebRequest requisicao = new ServletWebRequest(new MockHttpServletRequest());
+                if (openInView) {
+                    interceptor.preHandle(requisicao);
+                }
+                try {
+                    clienteService.listar(PageRequest.of(0, 20));
+                    serializando.countDown();
+                    respostasEscritas.await();
+                    concluidas.incrementAndGet();
+                } catch (TransactionException | DataAccessException e) {
+                    semConexao.incrementAndGet();
+                    serializando.countDown();
+                } finally {
+                    if (openInView) {
+                        interceptor.afterCompletion(requisicao, null);
+                    }
+                }
+                return null;
+            });
+        }
+
+        assertTrue(serializando.await(10, TimeUnit.SECONDS));
+        int conexoes = pool.getActiveConnections();
+        respostasEscritas.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        return new Carga(concluidas.get(), semConexao.get(), conexoes);
+    }
+}
@@ -0,0 +1,151 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.StatusAmbulancia;
+import com.seuprojeto.demo.repository.AmbulanciaRepository;
+
+/**
+ * Despachos simultaneos contra o banco de verdade: sem @Transactional no teste, cada troca de
+ * status e commitada por conta propria, como em requisicoes concorrentes.
+ */
+@SpringBootTest
+class DespachoConcorrenteTest {
+
+    private static final int FROTA = 40;
+    private static final int DESPACHOS = 300;
+
+    @Autowired
+    private AmbulanciaService ambulanciaService;
+
+    @Autowired
+    private AmbulanciaRepository ambulanciaRepository;
+
+    private final List<Long> criadas = new ArrayList<>();
+
+    @AfterEach
+    void removerFrota() {
+        ambulanciaRepository.deleteAllByIdInBatch(criadas);
+        ambulanciaService.carregar();
+    }
+
+    @Test
+    void cadaAmbulanciaDisponivelEDespachadaUmaUnicaVez() throws Exception {
+        for (int i = 0; i < FROTA; i++) {
+            criar("DSP-" + i, StatusAmbulancia.DISPONIVEL);
+        }
+        criar("DSP-M", StatusAmbulancia.MANUTENCAO);
+
+        Set<Long> despachadas = ConcurrentHashMap.newKeySet();
+        AtomicInteger repetidas = new AtomicInteger();
+        AtomicInteger semAmbulancia = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < DESPACHOS; i++) {
+                executor.submit(() -> {
+                    largada.await();
+                    ambulanciaService.despacharProxima().ifPresentOrElse(
+                            ambulancia -> {
+                                if (!despachadas.add(ambulancia.getId())) {
+                                    repetidas.incrementAndGet();
+                                }
+                            },
+                            semAmbulancia::incrementAndGet);
+                    return null;
+                });
+            }
+            largada.countDown();
+        }
+
+        assertEquals(0, repetidas.get());
+        assertEquals(FROTA, despachadas.size());
+        assertEquals(DESPACHOS - FROTA, semAmbulancia.get());
+        assertEquals(FROTA, ambulanciaRepository.findAllById(criadas).stream()
+                .filter(a -> a.getStatus() == StatusAmbulancia.EM_USO).count());
+        assertEquals(0, ambulanciaService.quantidadeDisponiveis());
+    }
+
+    @Test
+    void transicoesSimultaneasDaMesmaAmbulanciaTemUmSoVencedor() throws Exception {
+        Long id = criar("DSP-T", StatusAmbulancia.DISPONIVEL).getId();
+
+        AtomicInteger vencedoras = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 50; i++) {
+                StatusAmbulancia para = i % 2 == 0 ? StatusAmbulancia.EM_USO : StatusAmbulancia.MANUTENCAO;
+                executor.submit(() -> {
+                    largada.await();
+                    try {
+                        ambulanciaService.transicionar(id, StatusAmbulancia.DISPONIVEL, para);
+                        vencedoras.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        if (e.getStatusCode() == HttpStatus.CONFLICT) {
+                            conflitos.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        }
+
+        assertEquals(1, vencedoras.get());
+        assertEquals(49, conflitos.get());
+        assertEquals(1L, ambulanciaRepository.findById(id).orElseThrow().getVersao());
+    }
+
+    @Test
+    void statusNaoMudaPorPutNemTransicaoInvalida() {
+        Ambulancia ambulancia = criar("DSP-P", StatusAmbulancia.MANUTENCAO);
+        Ambulancia dados = new Ambulancia("DSP-P", "Sprinter", 4, StatusAmbulancia.DISPONIVEL, null, null, null);
+
+        ResponseStatusException put = assertThrows(ResponseStatusException.class,
+                () -> ambulanciaService.atualizar(ambulancia.getId(), dados, null));
+        assertEquals(HttpStatus.BAD_REQUEST, put.getStatusCode());
+
+        ResponseStatusException transicao = assertThrows(ResponseStatusException.class,
+                () -> ambulanciaService.transicionar(ambulancia.getId(), null, StatusAmbulancia.EM_USO));
+        assertEquals(HttpStatus.BAD_REQUEST, transicao.getStatusCode());
+
+        ambulanciaService.transicionar(ambulancia.getId(), null, StatusAmbulancia.DISPONIVEL);
+        assertEquals(ambulancia.getId(), ambulanciaService.despacharProxima().orElseThrow().getId());
+    }
+
+    @Test
+    void putSemStatusNaoMexeNoStatusAtual() {
+        Ambulancia ambulancia = criar("DSP-S", StatusAmbulancia.MANUTENCAO);
+        Ambulancia dados = new Ambulancia("DSP-S", "Sprinter", 4, null, 7L, null, null);
+
+        Ambulancia salva = ambulanciaService.atualizar(ambulancia.getId(), dados, null).orElseThrow();
+
+        assertEquals(StatusAmbulancia.MANUTENCAO, salva.getStatus());
+        assertEquals(7L, salva.getMotoristaId());
+        assertEquals(StatusAmbulancia.DISPONIVEL, criar("DSP-N", null).getStatus());
+    }
+
+    private Ambulancia criar(String placa, StatusAmbulancia status) {
+        Ambulancia ambulancia = ambulanciaService.salvar(new Ambulancia(placa, "Sprinter", 4, status, null, null, null));
+        criadas.add(ambulancia.getId());
+        return ambulancia;
+    }
+}
@@ -0,0 +1,76 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Hospital;
+import com.seuprojeto.demo.model.Motorista;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+class ReferenciaCacheTest {
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    @Autowired
+    private MotoristaService motoristaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Os dados do teste sao desfeitos no rollback; o cache nao pode sobreviver a eles
+    @AfterEach
+    void limparCaches() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+    }
+
+    @Test
+    void leiturasRepetidasNaoVaoAoBanco() {
+        Hospital hospital = hospitalService.salvar(new Hospital("Hospital Central", "Rua A, 1", List.of("cardiologia")));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        hospitalService.listarTodos();
+        statistics.clear();
+        for (int i = 0; i < 10; i++) {
+            hospitalService.listarTodos();
+            hospitalService.buscar(hospital.getId());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void escritasInvalidamListaEAtualizamItem() {
+        Motorista motorista = motoristaService.salvar(new Motorista("Joao", "12345678900", "(11) 90000-0000", "Centro"));
+        assertEquals(1, motoristaService.listarTodos().size());
+
+        Motorista dados = new Motorista("Joao Silva", "12345678900", "(11) 90000-0000", "Zona Sul");
+        motoristaService.atualizar(motorista.getId(), dados, null);
+        assertEquals("Joao Silva", motoristaService.buscar(motorista.getId()).orElseThrow().getNome());
+        assertEquals("Joao Silva", motoristaService.listarTodos().get(0).getNome());
+
+        motoristaService.salvar(new Motorista("Maria", "98765432100", "(11) 90000-0001", "Centro"));
+        assertEquals(2, motoristaService.listarTodos().size());
+
+        motoristaService.excluir(motorista.getId());
+        assertTrue(motoristaService.buscar(motorista.getId()).isEmpty());
+        assertEquals(1, motoristaService.listarTodos().size());
+    }
+}
@@ -0,0 +1,96 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.Exclusao;
+import com.seuprojeto.demo.model.SincronizacaoDTO;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.util.Sincronizacao;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class SincronizacaoServiceTest {
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void sinceDevolveAlteradosEExcluidos() {
+        Instant inicio = Instant.now().minusSeconds(1);
+        Cliente ana = clienteRepository.save(cliente("Ana Costa"));
+        Cliente carlos = clienteRepository.save(cliente("Carlos Lima"));
+        entityManager.flush();
+
+        SincronizacaoDTO<Cliente> primeira = sincronizar(inicio);
+        assertEquals(List.of(ana.getId(), carlos.getId()), primeira.getItens().stream().map(Cliente::getId).toList());
+        assertTrue(primeira.getExcluidos().isEmpty());
+        assertFalse(primeira.isCompleto());
+
+        sincronizacaoService.excluir(Exclusao.CLIENTE, clienteRepository, carlos.getId());
+        SincronizacaoDTO<Cliente> segunda = sincronizar(inicio);
+        assertEquals(List.of(ana.getId()), segunda.getItens().stream().map(Cliente::getId).toList());
+        assertEquals(List.of(carlos.getId()), segunda.getExcluidos());
+    }
+
+    @Test
+    void sinceAnteriorARetencaoDevolveListaCompleta() {
+        clienteRepository.save(cliente("Ana Costa"));
+        entityManager.flush();
+
+        SincronizacaoDTO<Cliente> resultado = sincronizar(Instant.now().minus(Duration.ofDays(365)));
+
+        assertTrue(resultado.isCompleto());
+        assertEquals(clienteRepository.count(), resultado.getItens().size());
+    }
+
+    @Test
+    void etagMudaComAlteracaoERespondeNaoModificado() {
+        Cliente ana = clienteRepository.save(cliente("Ana Costa"));
+        entityManager.flush();
+        String etag = Sincronizacao.etag(clienteRepository.estado(), null, "pagina 0");
+
+        ResponseEntity<String> naoModificado = Sincronizacao.condicional(etag, etag, () -> ResponseEntity.ok("corpo"));
+        assertEquals(HttpStatus.NOT_MODIFIED, naoModificado.getStatusCode());
+        assertNull(naoModificado.getBody());
+
+        ana.setAtendido(true);
+        entityManager.flush();
+        String novoEtag = Sincronizacao.etag(clienteRepository.estado(), null, "pagina 0");
+        ResponseEntity<String> alterado = Sincronizacao.condicional(etag, novoEtag, () -> ResponseEntity.ok("corpo"));
+        assertEquals(HttpStatus.OK, alterado.getStatusCode());
+        assertEquals(novoEtag, alterado.getHeaders().getETag());
+    }
+
+    private SincronizacaoDTO<Cliente> sincronizar(Instant since) {
+        return sincronizacaoService.desde(Exclusao.CLIENTE, since, clienteRepository::findByAtualizadoEmAfterOrderByIdAsc);
+    }
+
+    private static Cliente cliente(String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        return cliente;
+    }
+}
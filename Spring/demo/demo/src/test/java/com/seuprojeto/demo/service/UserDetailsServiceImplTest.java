@@ -0,0 +1,58 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Usuario;
+import com.seuprojeto.demo.repository.UsuarioRepository;
+
+@SpringBootTest(properties = "seguranca.senha.custo-bcrypt=5")
+@Transactional
+class UserDetailsServiceImplTest {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void senhaEmTextoPuroERegravadaComBcryptNoLogin() {
+        usuarioRepository.save(new Usuario("Ana", "ana@teste.com", "segredo", "ADMIN"));
+
+        autenticar("ana@teste.com", "segredo");
+
+        String senha = usuarioRepository.findByEmail("ana@teste.com").orElseThrow().getSenha();
+        assertTrue(senha.startsWith("{bcrypt}$2a$05$"));
+        autenticar("ana@teste.com", "segredo");
+        assertEquals(senha, usuarioRepository.findByEmail("ana@teste.com").orElseThrow().getSenha());
+        assertThrows(BadCredentialsException.class, () -> autenticar("ana@teste.com", "errada"));
+    }
+
+    @Test
+    void bcryptSemPrefixoComCustoMenorTambemERegravado() {
+        String antiga = new BCryptPasswordEncoder(4).encode("123456");
+        usuarioRepository.save(new Usuario("Beto", "beto@teste.com", antiga, "AGENTE"));
+
+        autenticar("beto@teste.com", "123456");
+
+        String senha = usuarioRepository.findByEmail("beto@teste.com").orElseThrow().getSenha();
+        assertNotEquals(antiga, senha);
+        assertTrue(senha.startsWith("{bcrypt}$2a$05$"));
+    }
+
+    private void autenticar(String email, String senha) {
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, senha));
+    }
+}
@@ -0,0 +1,123 @@
+package com.seuprojeto.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.Viagem;
+import com.seuprojeto.demo.model.ViagemDoDia;
+import com.seuprojeto.demo.repository.ClienteRepository;
+import com.seuprojeto.demo.repository.ViagemArquivoRepository;
+import com.seuprojeto.demo.repository.ViagemRepository;
+
+@SpringBootTest(properties = "viagens.arquivamento.tamanho-lote=2")
+@Transactional
+class ViagemServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private AtendimentoService atendimentoService;
+
+    @Autowired
+    private ArquivamentoViagemService arquivamentoViagemService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ViagemRepository viagemRepository;
+
+    @Autowired
+    private ViagemArquivoRepository viagemArquivoRepository;
+
+    @Test
+    void reagendarSubstituiAViagemPendenteEMantemAsAtendidas() {
+        Cliente cliente = clienteService.salvar(cliente("Ana", DIA));
+        atendimentoService.atender(List.of(cliente.getId()));
+
+        clienteService.atualizarParcial(cliente.getId(), Map.of("dataAtendimento", "2025-03-17", "atendido", false), null);
+        clienteService.atualizarParcial(cliente.getId(), Map.of("dataAtendimento", "2025-03-24"), null);
+
+        List<Viagem> viagens = viagemRepository.findByClienteIdOrderByDataAtendimentoAsc(cliente.getId());
+        assertEquals(List.of(DIA, DIA.plusDays(14)), viagens.stream().map(Viagem::getDataAtendimento).toList());
+        assertTrue(viagens.get(0).isAtendido());
+        assertFalse(viagens.get(1).isAtendido());
+
+        // O dia antigo mostra a viagem do historico, com os campos dela; so a atual esta pendente
+        List<ViagemDoDia> diaAntigo = viagemRepository.findDoDia(DIA);
+        assertEquals(1, diaAntigo.size());
+        assertTrue(diaAntigo.get(0).isAtendido());
+        assertTrue(clienteRepository.findByDataAtendimentoAndAtendidoFalse(DIA).isEmpty());
+        assertTrue(viagemRepository.findDoDia(DIA.plusDays(7)).isEmpty());
+        assertEquals(cliente.getId(), viagemRepository.findDoDia(DIA.plusDays(14)).get(0).getClienteId());
+        assertEquals(cliente.getId(), clienteRepository.findByDataAtendimentoAndAtendidoFalse(DIA.plusDays(14)).get(0).getId());
+    }
+
+    @Test
+    void reagendarParaUmaDataDoHistoricoCriaViagemNova() {
+        Cliente cliente = clienteService.salvar(cliente("Ana", DIA));
+        atendimentoService.atender(List.of(cliente.getId()));
+
+        clienteService.atualizarParcial(cliente.getId(), Map.of("dataAtendimento", "2025-03-17", "atendido", false), null);
+        clienteService.atualizarParcial(cliente.getId(), Map.of("dataAtendimento", "2025-03-10", "destino", "Hospital Norte"), null);
+
+        List<Viagem> viagens = viagemRepository.findByClienteIdOrderByDataAtendimentoAsc(cliente.getId());
+        assertEquals(2, viagens.size());
+        Viagem historico = viagens.stream().filter(Viagem::isAtendido).findFirst().orElseThrow();
+        Viagem pendente = viagens.stream().filter(v -> !v.isAtendido()).findFirst().orElseThrow();
+        assertEquals("Hospital Central", historico.getDestino());
+        assertEquals(DIA, pendente.getDataAtendimento());
+        assertEquals("Hospital Norte", pendente.getDestino());
+
+        List<String> destinos = viagemRepository.findDoDia(DIA).stream().map(ViagemDoDia::getDestino).toList();
+        assertEquals(List.of("Hospital Central", "Hospital Norte"), destinos);
+    }
+
+    @Test
+    void arquivaEmLotesSoAsViagensAtendidasAntesDoLimite() {
+        List<Long> antigas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            antigas.add(clienteService.salvar(cliente("Antigo " + i, DIA)).getId());
+        }
+        Cliente pendente = clienteService.salvar(cliente("Pendente", DIA));
+        Cliente recente = clienteService.salvar(cliente("Recente", DIA.plusDays(30)));
+        List<Long> atendidos = new ArrayList<>(antigas);
+        atendidos.add(recente.getId());
+        atendimentoService.atender(atendidos);
+
+        int arquivadas = arquivamentoViagemService.arquivar(DIA.plusDays(1));
+
+        assertEquals(5, arquivadas);
+        for (Long id : antigas) {
+            assertTrue(viagemRepository.findByClienteIdOrderByDataAtendimentoAsc(id).isEmpty());
+        }
+        assertEquals(5, viagemArquivoRepository.findAll().stream().filter(a -> antigas.contains(a.getClienteId())).count());
+        assertEquals(1, viagemRepository.findByClienteIdOrderByDataAtendimentoAsc(pendente.getId()).size());
+        assertEquals(1, viagemRepository.findByClienteIdOrderByDataAtendimentoAsc(recente.getId()).size());
+        assertEquals(0, arquivamentoViagemService.arquivar(DIA.plusDays(1)));
+    }
+
+    private static Cliente cliente(String nome, LocalDate dataAtendimento) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setBairro("Centro");
+        cliente.setDestino("Hospital Central");
+        cliente.setDataAtendimento(dataAtendimento);
+        return cliente;
+    }
+}
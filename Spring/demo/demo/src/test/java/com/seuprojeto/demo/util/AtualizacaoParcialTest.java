@@ -0,0 +1,66 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.seuprojeto.demo.model.Cliente;
+
+class AtualizacaoParcialTest {
+
+    @Test
+    void alteraSomenteOsCamposEnviados() {
+        Cliente cliente = new Cliente();
+        cliente.setId(7L);
+        cliente.setNome("Ana Costa");
+        cliente.setBairro("Centro");
+        cliente.setVersao(3L);
+
+        Map<String, Object> campos = new HashMap<>();
+        campos.put("atendido", true);
+        campos.put("vagas", 2);
+        campos.put("dataAtendimento", "2025-03-10");
+        campos.put("telefone", null);
+        campos.put("id", 99);
+        campos.put("versao", 3);
+        AtualizacaoParcial.aplicar(cliente, campos);
+
+        assertTrue(cliente.isAtendido());
+        assertEquals(2, cliente.getVagas());
+        assertEquals(LocalDate.of(2025, 3, 10), cliente.getDataAtendimento());
+        assertNull(cliente.getTelefone());
+        assertEquals("Ana Costa", cliente.getNome());
+        assertEquals("Centro", cliente.getBairro());
+        assertEquals(7L, cliente.getId());
+        assertEquals(3L, cliente.getVersao());
+    }
+
+    @Test
+    void campoDesconhecidoOuValorInvalidoDaBadRequest() {
+        Cliente cliente = new Cliente();
+        assertThrows(ResponseStatusException.class, () -> AtualizacaoParcial.aplicar(cliente, Map.of("inexistente", 1)));
+        assertThrows(ResponseStatusException.class, () -> AtualizacaoParcial.aplicar(cliente, Map.of("vagas", "muitas")));
+    }
+
+    @Test
+    void versaoVemDoIfMatchOuDoCorpo() {
+        assertEquals(4L, AtualizacaoParcial.versaoEsperada("\"4\"", Map.of("versao", 1)));
+        assertEquals(4L, AtualizacaoParcial.versaoEsperada("W/\"4\"", null));
+        assertEquals(1L, AtualizacaoParcial.versaoEsperada(null, Map.of("versao", 1)));
+        assertNull(AtualizacaoParcial.versaoEsperada(null, Map.of("nome", "Ana")));
+
+        AtualizacaoParcial.verificarVersao(Cliente.class, 1L, null, 5L);
+        AtualizacaoParcial.verificarVersao(Cliente.class, 1L, 5L, 5L);
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> AtualizacaoParcial.verificarVersao(Cliente.class, 1L, 4L, 5L));
+    }
+}
@@ -0,0 +1,125 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class GradeEspacialTest {
+
+    private static final int VEICULOS = 5_000;
+
+    @Test
+    void maisProximosCoincideComBuscaExaustiva() {
+        Random random = new Random(42);
+        GradeEspacial grade = new GradeEspacial(0.01);
+        double[][] posicoes = new double[VEICULOS][];
+        for (int i = 0; i < VEICULOS; i++) {
+            posicoes[i] = new double[] { -23.55 + random.nextGaussian() * 0.2, -46.63 + random.nextGaussian() * 0.2 };
+            grade.atualizar(i, posicoes[i][0], posicoes[i][1]);
+        }
+        // Move parte da frota e remove outra parte, como fariam as atualizacoes de posicao e status
+        for (int i = 0; i < 1_000; i++) {
+            posicoes[i][0] += 0.05;
+            grade.atualizar(i, posicoes[i][0], posicoes[i][1]);
+        }
+        for (int i = 4_000; i < 4_500; i++) {
+            grade.remover(i);
+        }
+
+        for (int consulta = 0; consulta < 200; consulta++) {
+            double latitude = -23.55 + random.nextGaussian() * 0.5;
+            double longitude = -46.63 + random.nextGaussian() * 0.5;
+            int k = 1 + random.nextInt(10);
+            double raioKm = consulta % 2 == 0 ? 0 : random.nextDouble() * 5;
+
+            List<GradeEspacial.Vizinho> vizinhos = grade.maisProximos(latitude, longitude, k, raioKm);
+
+            List<Double> esperadas = new ArrayList<>();
+            for (int i = 0; i < VEICULOS; i++) {
+                if (i >= 4_000 && i < 4_500) {
+                    continue;
+                }
+                double distancia = GradeEspacial.distanciaKm(latitude, longitude, posicoes[i][0], posicoes[i][1]);
+                if (raioKm <= 0 || distancia <= raioKm) {
+                    esperadas.add(distancia);
+                }
+            }
+            esperadas.sort(Comparator.naturalOrder());
+
+            assertEquals(Math.min(k, esperadas.size()), vizinhos.size());
+            for (int i = 0; i < vizinhos.size(); i++) {
+                assertEquals(esperadas.get(i), vizinhos.get(i).distanciaKm(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void atualizarSePresenteNaoIncluiPontosForaDoIndice() {
+        GradeEspacial grade = new GradeEspacial(0.01);
+        grade.atualizarSePresente(1L, -23.55, -46.63);
+        assertFalse(grade.contem(1L));
+
+        grade.atualizar(1L, -23.55, -46.63);
+        grade.atualizarSePresente(1L, -23.60, -46.70);
+        assertTrue(grade.contem(1L));
+        assertEquals(-23.60, grade.maisProximos(-23.60, -46.70, 1, 0).get(0).latitude(), 1e-12);
+    }
+
+    @Test
+    void idsQueEntramESaemDaMesmaCelulaEmParaleloNaoSomem() {
+        GradeEspacial grade = new GradeEspacial(0.01);
+        double latitudeA = -23.555, latitudeB = -23.545, longitude = -46.635;
+        AtomicBoolean fim = new AtomicBoolean();
+        AtomicInteger sumidos = new AtomicInteger();
+
+        // Ids 0-7 esvaziam a celula A sem parar; ids 8-15 entram nela e conferem que foram achados
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (long id = 0; id < 8; id++) {
+                long proprio = id;
+                executor.submit(() -> {
+                    while (!fim.get()) {
+                        grade.atualizar(proprio, latitudeA, longitude);
+                        grade.atualizar(proprio, latitudeB, longitude);
+                    }
+                });
+            }
+            List<Future<?>> entradas = new ArrayList<>();
+            for (long id = 8; id < 16; id++) {
+                long proprio = id;
+                entradas.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        grade.atualizar(proprio, latitudeB, longitude);
+                        grade.atualizar(proprio, latitudeA, longitude);
+                        if (grade.maisProximos(latitudeA, longitude, 16, 0.1).stream().noneMatch(v -> v.id() == proprio)) {
+                            sumidos.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            try {
+                for (Future<?> entrada : entradas) {
+                    entrada.get();
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                fim.set(true);
+            }
+        }
+
+        assertEquals(0, sumidos.get());
+        assertEquals(16, grade.tamanho());
+    }
+}
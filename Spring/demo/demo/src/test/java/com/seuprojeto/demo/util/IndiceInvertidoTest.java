@@ -0,0 +1,39 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceInvertidoTest {
+
+    @Test
+    void encontraPorFraseOuPalavraIgnorandoAcentosECaixa() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.atualizar(1, List.of("Cardiologia", "Ortopedia", "Emergência"));
+        indice.atualizar(2, List.of("Pediatria", "Clínica Geral"));
+        indice.atualizar(3, List.of("Clínica Geral", "Fisioterapia"));
+
+        assertEquals(List.of(new IndiceInvertido.Resultado(1, 1)), indice.buscar("EMERGENCIA", 5));
+        assertEquals(List.of(2L, 3L), indice.buscar("clinica geral", 5).stream().map(IndiceInvertido.Resultado::id).toList());
+        assertEquals(3, indice.buscar("clinica geral", 5).get(0).pontos());
+        assertEquals(List.of(new IndiceInvertido.Resultado(3, 1)), indice.buscar("Fisioterapia respiratória", 5));
+        assertTrue(indice.buscar("Raio-X", 5).isEmpty());
+    }
+
+    @Test
+    void atualizacaoTrocaOsTermosERemocaoTiraDoIndice() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.atualizar(1, List.of("Cardiologia"));
+
+        indice.atualizar(1, List.of("Pediatria"));
+        assertTrue(indice.buscar("Cardiologia", 5).isEmpty());
+        assertEquals(1, indice.buscar("Pediatria", 5).size());
+
+        indice.remover(1);
+        assertTrue(indice.buscar("Pediatria", 5).isEmpty());
+        assertEquals(0, indice.tamanho());
+    }
+}
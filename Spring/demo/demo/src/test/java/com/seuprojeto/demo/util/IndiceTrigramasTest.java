@@ -0,0 +1,75 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceTrigramasTest {
+
+    @Test
+    void toleraErroDeDigitacaoEPrefixo() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.atualizar(1, "Maria da Silva CART001 11987654321 Centro");
+        indice.atualizar(2, "Mario Souza CART002 11912345678 Zona Sul");
+        indice.atualizar(3, "Joana Prado CART003 11955554444 Zona Norte");
+
+        assertEquals(1, indice.buscar("maria slva", 0.4, 0, 10).itens().get(0).id());
+        assertEquals(3, indice.buscar("CART003", 0.4, 0, 10).itens().get(0).id());
+        assertEquals(2, indice.buscar("12345678", 0.4, 0, 10).itens().get(0).id());
+        assertEquals(List.of(1L, 2L), ids(indice.buscar("mar", 0.4, 0, 10)));
+        assertTrue(indice.buscar("xyzw", 0.4, 0, 10).itens().isEmpty());
+    }
+
+    @Test
+    void paginaMantemOTotalDeEncontrados() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        for (int i = 1; i <= 25; i++) {
+            indice.atualizar(i, "Paciente " + i + " Centro");
+        }
+
+        IndiceTrigramas.Pagina primeira = indice.buscar("centro", 0.4, 0, 10);
+        IndiceTrigramas.Pagina ultima = indice.buscar("centro", 0.4, 20, 10);
+
+        assertEquals(25, primeira.total());
+        assertEquals(10, primeira.itens().size());
+        assertEquals(5, ultima.itens().size());
+        assertTrue(primeira.itens().get(0).similaridade() >= primeira.itens().get(9).similaridade());
+    }
+
+    @Test
+    void atualizacaoERemocaoRefletemNaBusca() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.atualizar(1, "Ana Costa Centro");
+
+        indice.atualizar(1, "Ana Costa Zona Leste");
+        assertTrue(indice.buscar("centro", 0.4, 0, 10).itens().isEmpty());
+        assertEquals(List.of(1L), ids(indice.buscar("zona leste", 0.4, 0, 10)));
+
+        indice.remover(1);
+        assertTrue(indice.buscar("ana costa", 0.4, 0, 10).itens().isEmpty());
+        assertEquals(0, indice.tamanho());
+    }
+
+    // Muitas regravacoes forcam a compactacao das listas; o resultado nao pode mudar
+    @Test
+    void compactacaoPreservaOsDocumentosVivos() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        for (int rodada = 0; rodada < 5; rodada++) {
+            for (int i = 1; i <= 2000; i++) {
+                indice.atualizar(i, "Paciente " + i + (i % 2 == 0 ? " Bairro Par" : " Bairro Impar") + " rodada" + rodada);
+            }
+        }
+
+        assertEquals(2000, indice.tamanho());
+        assertEquals(1000, indice.buscar("bairro impar", 0.9, 0, 10).total());
+        assertEquals(2000, indice.buscar("rodada4", 0.9, 0, 10).total());
+        assertEquals(0, indice.buscar("rodada0", 0.9, 0, 10).total());
+    }
+
+    private static List<Long> ids(IndiceTrigramas.Pagina pagina) {
+        return pagina.itens().stream().map(IndiceTrigramas.Resultado::id).toList();
+    }
+}
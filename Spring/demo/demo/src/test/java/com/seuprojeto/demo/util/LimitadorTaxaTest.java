@@ -0,0 +1,49 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LimitadorTaxaTest {
+
+    @Test
+    void permiteARajadaEDepoisUmaFichaPorIntervalo() {
+        AtomicLong relogio = new AtomicLong(1_000);
+        LimitadorTaxa limitador = new LimitadorTaxa(5, Duration.ofMinutes(1), 1024, relogio::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, limitador.tentar("ana@teste.com"));
+        }
+        assertEquals(Duration.ofSeconds(12), limitador.tentar("ana@teste.com"));
+        assertEquals(Duration.ZERO, limitador.tentar("beto@teste.com"));
+
+        relogio.addAndGet(Duration.ofSeconds(12).toNanos());
+        assertEquals(Duration.ZERO, limitador.tentar("ana@teste.com"));
+        assertTrue(limitador.tentar("ana@teste.com").compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void tentativasConcorrentesNaoPassamDaCapacidade() throws Exception {
+        LimitadorTaxa limitador = new LimitadorTaxa(100, Duration.ofHours(1), 64);
+        AtomicInteger permitidas = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    if (limitador.tentar("10.0.0.1").isZero()) {
+                        permitidas.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(100, permitidas.get());
+    }
+}
@@ -0,0 +1,132 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.seuprojeto.demo.model.Ambulancia;
+import com.seuprojeto.demo.model.Cliente;
+import com.seuprojeto.demo.model.ParadaDTO;
+import com.seuprojeto.demo.model.PlanoDiarioDTO;
+import com.seuprojeto.demo.model.StatusAmbulancia;
+import com.seuprojeto.demo.model.ViagemPlanejadaDTO;
+
+class PlanejadorViagensTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 3, 10);
+
+    private final PlanejadorViagens planejador = new PlanejadorViagens(ForkJoinPool.commonPool());
+
+    @Test
+    void respeitaCapacidadeEUmaViagemPorHorario() {
+        Random random = new Random(7);
+        String[] bairros = { "Centro", "Vila Nova", "Jardim", "Industrial", "Santa Rita" };
+        String[] horarios = { "06:00", "08:00", "13:00" };
+        String[] destinos = { "Hospital Regional", "Santa Casa" };
+        String[] prioridades = { "alta", "media", "baixa", null };
+        List<Cliente> clientes = new ArrayList<>();
+        for (long i = 1; i <= 3_000; i++) {
+            clientes.add(cliente(i, bairros[random.nextInt(bairros.length)], horarios[random.nextInt(horarios.length)],
+                    destinos[random.nextInt(destinos.length)], prioridades[random.nextInt(prioridades.length)],
+                    1 + random.nextInt(2)));
+        }
+        List<Ambulancia> frota = new ArrayList<>();
+        for (long i = 1; i <= 60; i++) {
+            frota.add(ambulancia(i, 4 + random.nextInt(12)));
+        }
+
+        PlanoDiarioDTO plano = planejador.planejar(HOJE, clientes, frota);
+
+        Map<Long, Integer> capacidades = new HashMap<>();
+        frota.forEach(a -> capacidades.put(a.getId(), a.getCapacidade()));
+        Set<String> viagensPorHorario = new HashSet<>();
+        Set<Long> vistos = new HashSet<>();
+        for (ViagemPlanejadaDTO viagem : plano.getViagens()) {
+            assertTrue(viagensPorHorario.add(viagem.getAmbulanciaId() + "|" + viagem.getHorarioVan()));
+            int ocupacao = viagem.getParadas().stream().mapToInt(ParadaDTO::getVagas).sum();
+            assertEquals(ocupacao, viagem.getOcupacao());
+            assertTrue(ocupacao <= capacidades.get(viagem.getAmbulanciaId()));
+            for (ParadaDTO parada : viagem.getParadas()) {
+                assertTrue(vistos.add(parada.getClienteId()));
+            }
+        }
+        plano.getNaoAlocados().forEach(parada -> assertTrue(vistos.add(parada.getClienteId())));
+        assertEquals(clientes.size(), vistos.size());
+        assertEquals(clientes.size() - plano.getNaoAlocados().size(), plano.getClientesAlocados());
+    }
+
+    @Test
+    void prioridadeAltaEmbarcaPrimeiroQuandoFaltaLugar() {
+        List<Cliente> clientes = List.of(
+                cliente(1L, "Centro", "07:00", "Santa Casa", "baixa", 1),
+                cliente(2L, "Centro", "07:00", "Santa Casa", "alta", 1),
+                cliente(3L, "Jardim", "07:00", "Santa Casa", "media", 1));
+
+        PlanoDiarioDTO plano = planejador.planejar(HOJE, clientes, List.of(ambulancia(1L, 2)));
+
+        assertEquals(1, plano.getViagens().size());
+        List<ParadaDTO> paradas = plano.getViagens().get(0).getParadas();
+        assertEquals(List.of(2L, 3L), paradas.stream().map(ParadaDTO::getClienteId).toList());
+        assertEquals(1, plano.getNaoAlocados().size());
+        assertEquals(1L, plano.getNaoAlocados().get(0).getClienteId());
+    }
+
+    @Test
+    void escolheMenorAmbulanciaQueLevaOGrupo() {
+        List<Cliente> clientes = List.of(
+                cliente(1L, "Centro", "07:00", "Santa Casa", "alta", 2),
+                cliente(2L, "Centro", "07:00", "Santa Casa", "media", 1));
+
+        PlanoDiarioDTO plano = planejador.planejar(HOJE, clientes, List.of(ambulancia(1L, 10), ambulancia(2L, 4)));
+
+        assertEquals(1, plano.getViagens().size());
+        assertEquals(2L, plano.getViagens().get(0).getAmbulanciaId());
+        assertTrue(plano.getNaoAlocados().isEmpty());
+    }
+
+    @Test
+    void naoGeraViagemVaziaQuandoAMaiorLivreNaoLevaNinguem() {
+        // O destino de prioridade alta usa a ambulancia grande; a pequena nao leva o cliente de 3 vagas
+        List<Cliente> clientes = List.of(
+                cliente(1L, "Centro", "07:00", "Hospital Regional", "alta", 4),
+                cliente(2L, "Jardim", "07:00", "Santa Casa", "baixa", 3));
+
+        PlanoDiarioDTO plano = planejador.planejar(HOJE, clientes, List.of(ambulancia(1L, 2), ambulancia(2L, 4)));
+
+        assertEquals(1, plano.getViagens().size());
+        assertEquals(2L, plano.getViagens().get(0).getAmbulanciaId());
+        assertTrue(plano.getViagens().stream().noneMatch(viagem -> viagem.getParadas().isEmpty()));
+        assertEquals(List.of(2L), plano.getNaoAlocados().stream().map(ParadaDTO::getClienteId).toList());
+        assertEquals(1, plano.getClientesAlocados());
+    }
+
+    private static Cliente cliente(Long id, String bairro, String horarioVan, String destino, String prioridade, int vagas) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome("Cliente " + id);
+        cliente.setBairro(bairro);
+        cliente.setHorarioVan(horarioVan);
+        cliente.setDestino(destino);
+        cliente.setPrioridadeSaude(prioridade);
+        cliente.setVagas(vagas);
+        cliente.setDataAtendimento(HOJE);
+        return cliente;
+    }
+
+    private static Ambulancia ambulancia(Long id, int capacidade) {
+        Ambulancia ambulancia = new Ambulancia("ABC-" + id, "Sprinter", capacidade, StatusAmbulancia.DISPONIVEL, null, null, null);
+        ambulancia.setId(id);
+        return ambulancia;
+    }
+}
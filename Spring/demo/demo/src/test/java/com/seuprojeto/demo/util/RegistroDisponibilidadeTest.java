@@ -0,0 +1,103 @@
+package com.seuprojeto.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class RegistroDisponibilidadeTest {
+
+    @Test
+    void reservaNaOrdemEmQueFicaramLivres() {
+        RegistroDisponibilidade registro = new RegistroDisponibilidade();
+        registro.liberar(3);
+        registro.liberar(1);
+        registro.liberar(2);
+        registro.remover(1);
+
+        assertTrue(registro.reservar(2));
+        assertFalse(registro.reservar(2));
+        assertEquals(3L, registro.reservarProximo());
+        assertNull(registro.reservarProximo());
+
+        registro.liberar(2);
+        assertTrue(registro.isLivre(2));
+        assertEquals(2L, registro.reservarProximo());
+        assertEquals(0, registro.tamanho());
+    }
+
+    @Test
+    void idQueSaiEVoltaVaiParaOFimDaFila() {
+        RegistroDisponibilidade registro = new RegistroDisponibilidade();
+        registro.liberar(1);
+        registro.liberar(2);
+        registro.remover(1);
+        registro.liberar(1);
+        registro.liberar(3);
+        assertTrue(registro.reservar(3));
+        registro.liberar(3);
+
+        // A entrada antiga do 1 (e a do 3) ficou na fila, mas nao vale mais
+        assertEquals(2L, registro.reservarProximo());
+        assertEquals(1L, registro.reservarProximo());
+        assertEquals(3L, registro.reservarProximo());
+        assertNull(registro.reservarProximo());
+    }
+
+    @Test
+    void filaNaoCresceComTransicoesSemDespacho() {
+        RegistroDisponibilidade registro = new RegistroDisponibilidade();
+        for (long id = 1; id <= 10; id++) {
+            registro.liberar(id);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long id = 1 + i % 10;
+            registro.remover(id);
+            registro.liberar(id);
+        }
+
+        assertEquals(10, registro.tamanho());
+        assertTrue(registro.entradasNaFila() <= 10 + 10 + 64 + 1);
+        assertEquals(1L, registro.reservarProximo());
+    }
+
+    @Test
+    void reservasConcorrentesNuncaEntregamOMesmoId() throws Exception {
+        RegistroDisponibilidade registro = new RegistroDisponibilidade();
+        for (long id = 1; id <= 500; id++) {
+            registro.liberar(id);
+        }
+        Set<Long> reservados = ConcurrentHashMap.newKeySet();
+        AtomicInteger repetidos = new AtomicInteger();
+        AtomicInteger semId = new AtomicInteger();
+
+        // Metade das tarefas devolve o id e reserva de novo, como um atendimento encerrado
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 2000; i++) {
+                boolean devolve = i % 2 == 0;
+                executor.submit(() -> {
+                    Long id = registro.reservarProximo();
+                    if (id == null) {
+                        semId.incrementAndGet();
+                    } else if (devolve) {
+                        registro.liberar(id);
+                    } else if (!reservados.add(id)) {
+                        repetidos.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(0, repetidos.get());
+        assertEquals(500, reservados.size() + registro.tamanho());
+        assertTrue(semId.get() >= 1000 - 500);
+    }
+}